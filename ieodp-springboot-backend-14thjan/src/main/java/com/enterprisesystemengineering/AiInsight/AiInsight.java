@@ -1,15 +1,20 @@
 package com.enterprisesystemengineering.aiinsight;
 
+import com.enterprisesystemengineering.cache.EntityCacheConfig;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.AI_INSIGHTS)
 @Table(name = "ai_insights")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class AiInsight {
 
     @Id
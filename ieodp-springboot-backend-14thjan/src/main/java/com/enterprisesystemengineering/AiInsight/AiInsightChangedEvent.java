@@ -0,0 +1,7 @@
+package com.enterprisesystemengineering.aiinsight;
+
+/**
+ * Published by {@link AiInsightService} after every create, update and delete of an insight.
+ */
+public record AiInsightChangedEvent(String id) {
+}
@@ -1,6 +1,9 @@
 package com.enterprisesystemengineering.aiinsight;
 
+import com.enterprisesystemengineering.cache.EntityCache;
+import com.enterprisesystemengineering.cache.VersionStamps;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -14,10 +17,15 @@ public class AiInsightController {
 
     private final AiInsightService service;
     private final AiInsightRepository repository;
+    private final EntityCache<AiInsight> aiInsightCache;
+    private final VersionStamps versionStamps;
 
-    public AiInsightController(AiInsightService service, AiInsightRepository repository) {
+    public AiInsightController(AiInsightService service, AiInsightRepository repository,
+                               EntityCache<AiInsight> aiInsightCache, VersionStamps versionStamps) {
         this.service = service;
         this.repository = repository;
+        this.aiInsightCache = aiInsightCache;
+        this.versionStamps = versionStamps;
     }
 
     @PostMapping
@@ -28,31 +36,25 @@ public class AiInsightController {
 
     @GetMapping
     public ResponseEntity<List<AiInsight>> getAllInsights(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.ok(repository.findAll());
+        return versionStamps.respond(ifNoneMatch, versionStamps.collectionTag(VersionStamps.AI_INSIGHTS),
+                repository::findAll);
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'LEADERSHIP', 'AUDITORS')")
-    public ResponseEntity<AiInsight> getInsightById(@PathVariable String id) {
-        AiInsight insight = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Insight not found"));
-        return ResponseEntity.ok(insight);
+    public ResponseEntity<AiInsight> getInsightById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versionStamps.respond(ifNoneMatch, versionStamps.entityTag(VersionStamps.AI_INSIGHTS, id),
+                () -> aiInsightCache.findById(id).orElseThrow(() -> new RuntimeException("Insight not found")));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT')")
     public ResponseEntity<AiInsight> updateInsight(@PathVariable String id, @Valid @RequestBody AiInsight insightDetails) {
-        AiInsight insight = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Insight not found"));
-        
-        insight.setTitle(insightDetails.getTitle());
-        insight.setDescription(insightDetails.getDescription());
-        insight.setRiskScore(insightDetails.getRiskScore());
-        insight.setRecommendation(insightDetails.getRecommendation());
-        insight.setWorkflowId(insightDetails.getWorkflowId());
-        
-        return ResponseEntity.ok(repository.save(insight));
+        return ResponseEntity.ok(service.updateInsight(id, insightDetails));
     }
 
     @GetMapping("/high-risk")
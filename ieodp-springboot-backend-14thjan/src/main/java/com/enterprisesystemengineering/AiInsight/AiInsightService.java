@@ -1,6 +1,9 @@
 package com.enterprisesystemengineering.aiinsight;
 
 import com.enterprisesystemengineering.audit.AuditService;
+import com.enterprisesystemengineering.audit.AuditStateCodec;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
@@ -14,10 +17,15 @@ public class AiInsightService {
 
     private final AiInsightRepository repository;
     private final AuditService auditService;
+    private final AuditStateCodec auditStateCodec;
+    private final ApplicationEventPublisher events;
 
-    public AiInsightService(AiInsightRepository repository, AuditService auditService) {
+    public AiInsightService(AiInsightRepository repository, AuditService auditService, AuditStateCodec auditStateCodec,
+                            ApplicationEventPublisher events) {
         this.repository = repository;
         this.auditService = auditService;
+        this.auditStateCodec = auditStateCodec;
+        this.events = events;
     }
 
     public AiInsight createInsight(AiInsight insight) {
@@ -26,11 +34,36 @@ public class AiInsightService {
         String userId = getCurrentUserId();
         String role = getCurrentUserRole();
         try {
-            auditService.log(userId, role, "CREATE_AI_INSIGHT", "AiInsight", savedInsight.getId(), null, savedInsight.toString());
+            auditService.logSnapshot(userId, role, "CREATE_AI_INSIGHT", "AiInsight", savedInsight.getId(), savedInsight);
         } catch (Exception e) {
             System.err.println("Failed to log audit: " + e.getMessage());
         }
 
+        events.publishEvent(new AiInsightChangedEvent(savedInsight.getId()));
+        return savedInsight;
+    }
+
+    public AiInsight updateInsight(String id, AiInsight details) {
+        AiInsight insight = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Insight not found"));
+
+        ObjectNode oldState = auditStateCodec.capture(insight);
+        insight.setTitle(details.getTitle());
+        insight.setDescription(details.getDescription());
+        insight.setRiskScore(details.getRiskScore());
+        insight.setRecommendation(details.getRecommendation());
+        insight.setWorkflowId(details.getWorkflowId());
+        AiInsight savedInsight = repository.save(insight);
+
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        try {
+            auditService.logChange(userId, role, "UPDATE_AI_INSIGHT", "AiInsight", savedInsight.getId(), oldState, savedInsight);
+        } catch (Exception e) {
+            System.err.println("Failed to log audit: " + e.getMessage());
+        }
+
+        events.publishEvent(new AiInsightChangedEvent(savedInsight.getId()));
         return savedInsight;
     }
 
@@ -58,6 +91,7 @@ public class AiInsightService {
         }
 
         repository.deleteById(id);
+        events.publishEvent(new AiInsightChangedEvent(id));
     }
 
     private String getCurrentUserId() {
@@ -1,5 +1,7 @@
 package com.enterprisesystemengineering.entity;
 
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.enums.TicketPriority;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -7,21 +9,45 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "approvals")
+@Table(name = "approvals", indexes = {
+        @Index(name = "idx_approvals_status_created_at", columnList = "status, created_at"),
+        @Index(name = "idx_approvals_assigned_to_status", columnList = "assigned_to, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Approval {
+
+    public static final String ID_GENERATOR_TABLE = "id_generators";
+    public static final String ID_GENERATOR_KEY = "approvals";
+    public static final int ID_ALLOCATION_SIZE = 50;
     
+    /**
+     * Pooled table generator: one round trip reserves a block of ids, so inserts can be JDBC-batched
+     * (IDENTITY forces a round trip per row). See ApprovalIdGeneratorSeeder for the switch from IDENTITY.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "approval_id")
+    @TableGenerator(name = "approval_id", table = ID_GENERATOR_TABLE, pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = ID_GENERATOR_KEY, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(name = "workflow_id")
     private Long workflowId;
     
-    @Column(name = "status")
-    private String status; // PENDING, APPROVED, REJECTED, ESCALATED
+    /**
+     * Stored by constant name; {@link ApprovalStatusConverter} also reads the legacy free-text values.
+     */
+    @Convert(converter = ApprovalStatusConverter.class)
+    @Column(name = "status", length = 20)
+    private ApprovalStatus status;
+
+    /**
+     * Priority of the work being approved; higher priority sorts first in the assignee's pending queue.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", length = 20)
+    private TicketPriority priority;
     
     @Column(name = "assigned_to")
     private String assignedTo;
@@ -43,7 +69,10 @@ public class Approval {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         if (status == null) {
-            status = "PENDING";
+            status = ApprovalStatus.PENDING;
+        }
+        if (priority == null) {
+            priority = TicketPriority.MEDIUM;
         }
     }
     
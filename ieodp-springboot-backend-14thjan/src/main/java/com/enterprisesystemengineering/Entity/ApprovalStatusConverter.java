@@ -0,0 +1,54 @@
+package com.enterprisesystemengineering.entity;
+
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stores {@link ApprovalStatus} by constant name, and reads the free-text values the column held before it
+ * became an enum: any case, surrounding blanks, and the verb forms ("approve", "reject", "escalate").
+ * {@link com.enterprisesystemengineering.repository.ApprovalStatusNormalizer} rewrites those rows at startup
+ * so status queries match them too.
+ */
+@Converter
+public class ApprovalStatusConverter implements AttributeConverter<ApprovalStatus, String> {
+
+    private static final Map<String, ApprovalStatus> LEGACY = Map.of(
+            "APPROVE", ApprovalStatus.APPROVED,
+            "REJECT", ApprovalStatus.REJECTED,
+            "ESCALATE", ApprovalStatus.ESCALATED);
+
+    @Override
+    public String convertToDatabaseColumn(ApprovalStatus status) {
+        return status == null ? null : status.name();
+    }
+
+    @Override
+    public ApprovalStatus convertToEntityAttribute(String value) {
+        return parse(value);
+    }
+
+    /**
+     * The status a stored value stands for; {@code null} for a null or blank value.
+     *
+     * @throws IllegalArgumentException if the value is not a status name or a known legacy form
+     */
+    public static ApprovalStatus parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String name = value.trim().toUpperCase(Locale.ROOT);
+        ApprovalStatus legacy = LEGACY.get(name);
+        if (legacy != null) {
+            return legacy;
+        }
+        try {
+            return ApprovalStatus.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown approval status: " + value, e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.enterprisesystemengineering.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Entity
+@Table(name = "revoked_tokens",
+        indexes = @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    // SHA-256 of the token, base64 without padding
+    @Id
+    @Column(name = "token_hash", length = 43)
+    private String tokenHash;
+
+    // 64-bit fingerprint the Bloom filter is rebuilt from
+    @Column(name = "fingerprint", nullable = false)
+    private long fingerprint;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -5,11 +5,12 @@ import com.enterprisesystemengineering.entity.User;
 import com.enterprisesystemengineering.entity.Role;
 import com.enterprisesystemengineering.repository.UserRepository;
 import com.enterprisesystemengineering.security.JwtTokenProvider;
+import com.enterprisesystemengineering.security.PasswordHashingExecutor;
+import com.enterprisesystemengineering.service.UserCache;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -19,12 +20,15 @@ import java.util.List;
 public class UserController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
     private final JwtTokenProvider jwtTokenProvider;
+    private final UserCache userCache;
 
-    public UserController(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtTokenProvider jwtTokenProvider) {
+    public UserController(UserRepository userRepository, PasswordHashingExecutor passwordHashing, JwtTokenProvider jwtTokenProvider,
+                          UserCache userCache) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
+        this.userCache = userCache;
         this.jwtTokenProvider = jwtTokenProvider;
     }
 
@@ -41,11 +45,16 @@ public class UserController {
         
         // If email and password provided, authenticate user (login flow)
         if (email != null && password != null) {
-            List<User> users = userRepository.findByEmail(email).stream().toList();
+            List<User> users = userCache.findByEmail(email).stream().toList();
             if (!users.isEmpty()) {
                 User user = users.get(0);
                 // Verify password
-                if (passwordEncoder.matches(password, user.getPassword())) {
+                PasswordHashingExecutor.Verification verification = passwordHashing.verify(password, user.getPassword());
+                if (verification.matched()) {
+                    if (verification.upgradedHash() != null) {
+                        user.setPassword(verification.upgradedHash());
+                        userCache.put(userRepository.save(user));
+                    }
                     return ResponseEntity.ok(users);
                 }
             }
@@ -58,7 +67,7 @@ public class UserController {
 
     @PostMapping("/register")
     public ResponseEntity<User> registerUser(@Valid @RequestBody RegisterUserDto registerDto) {
-        if (userRepository.findByEmail(registerDto.getEmail()).isPresent()) {
+        if (userCache.findByEmail(registerDto.getEmail()).isPresent()) {
             throw new RuntimeException("Email already exists");
         }
         
@@ -67,12 +76,12 @@ public class UserController {
         user.setLastName(registerDto.getLastName());
         user.setUsername(registerDto.getUsername());
         user.setEmail(registerDto.getEmail());
-        user.setPassword(passwordEncoder.encode(registerDto.getPassword()));
+        user.setPassword(passwordHashing.encode(registerDto.getPassword()));
         user.setMobileNumber(registerDto.getMobileNumber());
         user.setGender(registerDto.getGender());
         user.setDepartment(registerDto.getDepartment());
         
-        return ResponseEntity.status(HttpStatus.CREATED).body(userRepository.save(user));
+        return ResponseEntity.status(HttpStatus.CREATED).body(userCache.put(userRepository.save(user)));
     }
 
     @GetMapping("/all")
@@ -84,7 +93,7 @@ public class UserController {
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT') or #id == authentication.principal")
     public ResponseEntity<User> getUserById(@PathVariable Long id) {
-        User user = userRepository.findById(id)
+        User user = userCache.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         return ResponseEntity.ok(user);
     }
@@ -99,7 +108,7 @@ public class UserController {
         user.setLastName(userDetails.getLastName());
         user.setDepartment(userDetails.getDepartment());
         
-        return ResponseEntity.ok(userRepository.save(user));
+        return ResponseEntity.ok(userCache.put(userRepository.save(user)));
     }
 
     @PatchMapping("/{id}/role")
@@ -108,7 +117,7 @@ public class UserController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(com.enterprisesystemengineering.enums.UserRole.valueOf(role));
-        return ResponseEntity.ok(userRepository.save(user));
+        return ResponseEntity.ok(userCache.put(userRepository.save(user)));
     }
 
     @DeleteMapping("/{id}")
@@ -117,6 +126,7 @@ public class UserController {
         User user = userRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         userRepository.delete(user);
+        userCache.evict(user);
         return ResponseEntity.noContent().build();
     }
 }
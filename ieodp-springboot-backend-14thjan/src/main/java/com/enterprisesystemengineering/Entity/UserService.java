@@ -19,13 +19,15 @@ import java.util.List;
 public class UserService implements UserDetailsService {
 
     private final UserRepository repository;
+    private final UserCache userCache;
 
-    public UserService(UserRepository repository) {
+    public UserService(UserRepository repository, UserCache userCache) {
         this.repository = repository;
+        this.userCache = userCache;
     }
 
     public User createUser(User user) {
-        return repository.save(user);
+        return userCache.put(repository.save(user));
     }
 
     public List<User> getAllUsers() {
@@ -36,14 +38,14 @@ public class UserService implements UserDetailsService {
         User user = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setRole(role);
-        repository.save(user);
+        userCache.put(repository.save(user));
     }
 
     public void deactivateUser(Long id) {
         User user = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(false);
-        repository.save(user);
+        userCache.put(repository.save(user));
     }
 
     @Override
@@ -51,7 +53,7 @@ public class UserService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
 
-        return repository.findByEmail(username)
+        return userCache.findByEmail(username)
                 .map(user -> new org.springframework.security.core.userdetails.User(
                         user.getEmail(),
                         user.getPassword(),
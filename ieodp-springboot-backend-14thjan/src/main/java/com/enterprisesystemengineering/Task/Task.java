@@ -1,15 +1,28 @@
 package com.enterprisesystemengineering.task;
 
+import com.enterprisesystemengineering.cache.EntityCacheConfig;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@DynamicUpdate
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.TASKS)
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_assigned_to_status", columnList = "assigned_to, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Task {
 
     @Id
@@ -33,4 +46,21 @@ public class Task {
     @Column(nullable = false)
     @JsonProperty("workflowId")
     private String workflowId;
+
+    /**
+     * When the task entered its current status; the SLA clock of a PENDING task starts here.
+     */
+    @Column
+    @JsonProperty(value = "statusChangedAt", access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime statusChangedAt;
+
+    /**
+     * Prerequisites not yet COMPLETED. Only changed by set-based updates in TaskService;
+     * {@code @DynamicUpdate} keeps ordinary saves from writing back a stale count.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    @Builder.Default
+    private int unmetDependencies = 0;
 }
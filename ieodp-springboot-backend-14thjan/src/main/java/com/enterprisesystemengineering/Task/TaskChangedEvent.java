@@ -0,0 +1,31 @@
+package com.enterprisesystemengineering.task;
+
+/**
+ * Published by {@link TaskService} for every create, update and delete.
+ * {@code before} is null on create and {@code after} is null on delete.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record TaskChangedEvent(String id, State before, State after) {
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(task.getId(), null, State.of(task));
+    }
+
+    public static TaskChangedEvent updated(State before, Task task) {
+        return new TaskChangedEvent(task.getId(), before, State.of(task));
+    }
+
+    public static TaskChangedEvent deleted(Task task) {
+        return new TaskChangedEvent(task.getId(), State.of(task), null);
+    }
+
+    /**
+     * The fields derived views are keyed on, copied so later entity changes do not leak in.
+     */
+    public record State(TaskStatus status, String assignedTo, String workflowId) {
+
+        public static State of(Task task) {
+            return new State(task.getStatus(), task.getAssignedTo(), task.getWorkflowId());
+        }
+    }
+}
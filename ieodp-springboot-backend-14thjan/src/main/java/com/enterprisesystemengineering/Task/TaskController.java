@@ -1,11 +1,21 @@
 package com.enterprisesystemengineering.task;
 
+import com.enterprisesystemengineering.cache.EntityCache;
+import com.enterprisesystemengineering.cache.VersionStamps;
+import com.enterprisesystemengineering.dto.BulkStatusTransition;
+import com.enterprisesystemengineering.dto.BulkTransitionResult;
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.dto.StatusStats;
+import com.enterprisesystemengineering.stats.StatusCounterRegistry;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/tasks")
@@ -13,10 +23,17 @@ public class TaskController {
 
     private final TaskService service;
     private final TaskRepository repository;
+    private final StatusCounterRegistry statusCounters;
+    private final EntityCache<Task> taskCache;
+    private final VersionStamps versionStamps;
 
-    public TaskController(TaskService service, TaskRepository repository) {
+    public TaskController(TaskService service, TaskRepository repository, StatusCounterRegistry statusCounters,
+                          EntityCache<Task> taskCache, VersionStamps versionStamps) {
         this.service = service;
         this.repository = repository;
+        this.statusCounters = statusCounters;
+        this.taskCache = taskCache;
+        this.versionStamps = versionStamps;
     }
 
     @PostMapping
@@ -27,30 +44,43 @@ public class TaskController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'AUDITORS')")
-    public ResponseEntity<List<Task>> getAllTasks() {
-        return ResponseEntity.ok(repository.findAll());
+    public ResponseEntity<List<Task>> getAllTasks(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versionStamps.respond(ifNoneMatch, versionStamps.collectionTag(VersionStamps.TASKS), repository::findAll);
+    }
+
+    /**
+     * GET /tasks/stats - Task counts per status from in-memory counters
+     * byAssignee=true adds a per-assignee breakdown
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StatusStats> getStats(@RequestParam(defaultValue = "false") boolean byAssignee) {
+        return ResponseEntity.ok(statusCounters.taskStats(byAssignee));
+    }
+
+    /**
+     * GET /tasks/stats/assigned/{userId} - One assignee's task counts per status
+     */
+    @GetMapping("/stats/assigned/{userId}")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Map<String, Long>> getStatsForAssignee(@PathVariable String userId) {
+        return ResponseEntity.ok(statusCounters.taskStatsForAssignee(userId));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Task> getTaskById(@PathVariable String id) {
-        Task task = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        return ResponseEntity.ok(task);
+    public ResponseEntity<Task> getTaskById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versionStamps.respond(ifNoneMatch, versionStamps.entityTag(VersionStamps.TASKS, id),
+                () -> taskCache.findById(id).orElseThrow(() -> new RuntimeException("Task not found")));
     }
 
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS')")
     public ResponseEntity<Task> updateTask(@PathVariable String id, @Valid @RequestBody Task taskDetails) {
-        Task task = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Task not found"));
-        
-        task.setTitle(taskDetails.getTitle());
-        task.setStatus(taskDetails.getStatus());
-        task.setAssignedTo(taskDetails.getAssignedTo());
-        task.setWorkflowId(taskDetails.getWorkflowId());
-        
-        return ResponseEntity.ok(repository.save(task));
+        return ResponseEntity.ok(service.updateTask(id, taskDetails));
     }
 
     @PatchMapping("/{id}/status")
@@ -61,12 +91,75 @@ public class TaskController {
         return ResponseEntity.ok(service.updateStatus(id, status));
     }
 
+    /**
+     * PATCH /tasks/bulk/status - Move many tasks from one status to another
+     * Body: {"ids": [...], "from": "PENDING", "to": "BLOCKED"}
+     */
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS', 'LEADERSHIP')")
+    public ResponseEntity<BulkTransitionResult> bulkUpdateStatus(@RequestBody BulkStatusTransition<TaskStatus> request) {
+        return ResponseEntity.ok(service.transitionStatus(request));
+    }
+
+    /**
+     * POST /tasks/{id}/dependencies/{dependsOnId} - Task {id} waits until {dependsOnId} is COMPLETED
+     * 409 when the edge would create a cycle
+     */
+    @PostMapping("/{id}/dependencies/{dependsOnId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS')")
+    public ResponseEntity<TaskDependency> addDependency(@PathVariable String id, @PathVariable String dependsOnId) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(service.addDependency(id, dependsOnId));
+    }
+
+    @DeleteMapping("/{id}/dependencies/{dependsOnId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS')")
+    public ResponseEntity<Void> removeDependency(@PathVariable String id, @PathVariable String dependsOnId) {
+        service.removeDependency(id, dependsOnId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/{id}/dependencies")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<TaskDependency>> getDependencies(@PathVariable String id) {
+        return ResponseEntity.ok(service.getDependencies(id));
+    }
+
+    @GetMapping("/{id}/dependents")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<TaskDependency>> getDependents(@PathVariable String id) {
+        return ResponseEntity.ok(service.getDependents(id));
+    }
+
     @GetMapping("/assigned/{userId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<Task>> getByUser(@PathVariable String userId) {
         return ResponseEntity.ok(service.getByUser(userId));
     }
 
+    /**
+     * GET /tasks/assigned/{userId}/inbox - Keyset page of open tasks, ESCALATED first, then PENDING, then BLOCKED
+     * status may be repeated to filter, e.g. ?status=PENDING&status=BLOCKED; pass nextCursor for the next page
+     */
+    @GetMapping("/assigned/{userId}/inbox")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<CursorPage<Task>> getInbox(
+            @PathVariable String userId,
+            @RequestParam(required = false) Set<TaskStatus> status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(service.getInbox(userId, status, cursor, size));
+    }
+
+    /**
+     * GET /tasks/assigned/{userId}/count - Counts per status from in-memory counters, same as
+     * /tasks/stats/assigned/{userId} plus the total
+     */
+    @GetMapping("/assigned/{userId}/count")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StatusStats> getInboxCounts(@PathVariable String userId) {
+        return ResponseEntity.ok(statusCounters.taskStats(userId));
+    }
+
     @GetMapping("/workflow/{workflowId}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<Task>> byWorkflow(@PathVariable String workflowId) {
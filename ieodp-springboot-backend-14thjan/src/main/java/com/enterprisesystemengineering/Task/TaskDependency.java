@@ -0,0 +1,50 @@
+package com.enterprisesystemengineering.task;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Edge of a workflow's task graph: {@code taskId} cannot start until {@code dependsOnId} is COMPLETED.
+ */
+@Entity
+@Table(name = "task_dependencies",
+        uniqueConstraints = @UniqueConstraint(name = "uk_task_dependencies_edge", columnNames = {"task_id", "depends_on_id"}),
+        indexes = {
+                @Index(name = "idx_task_dependencies_depends_on", columnList = "depends_on_id"),
+                @Index(name = "idx_task_dependencies_workflow", columnList = "workflow_id")
+        })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskDependency {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @JsonProperty("id")
+    private String id;
+
+    @Column(nullable = false)
+    @JsonProperty("workflowId")
+    private String workflowId;
+
+    @Column(nullable = false)
+    @JsonProperty("taskId")
+    private String taskId;
+
+    @Column(nullable = false)
+    @JsonProperty("dependsOnId")
+    private String dependsOnId;
+
+    @Column(nullable = false, updatable = false)
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    public void onCreate() {
+        this.createdAt = LocalDateTime.now();
+    }
+}
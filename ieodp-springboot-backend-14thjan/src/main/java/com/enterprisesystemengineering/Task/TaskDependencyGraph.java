@@ -0,0 +1,52 @@
+package com.enterprisesystemengineering.task;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Adjacency lists of one workflow's dependency edges, from each task to its prerequisites.
+ * Used to reject an edge that would close a cycle before it is inserted.
+ */
+final class TaskDependencyGraph {
+
+    private final Map<String, List<String>> prerequisites = new HashMap<>();
+
+    TaskDependencyGraph(List<TaskDependency> edges) {
+        for (TaskDependency edge : edges) {
+            prerequisites.computeIfAbsent(edge.getTaskId(), id -> new ArrayList<>()).add(edge.getDependsOnId());
+        }
+    }
+
+    /**
+     * True when making {@code taskId} depend on {@code dependsOnId} would close a cycle,
+     * i.e. {@code dependsOnId} already depends on {@code taskId}, directly or transitively.
+     * Iterative DFS, so it visits each task and edge reachable from {@code dependsOnId} at most once.
+     */
+    boolean wouldCycle(String taskId, String dependsOnId) {
+        if (taskId.equals(dependsOnId)) {
+            return true;
+        }
+        Set<String> visited = new HashSet<>();
+        Deque<String> stack = new ArrayDeque<>();
+        stack.push(dependsOnId);
+        while (!stack.isEmpty()) {
+            String current = stack.pop();
+            if (!visited.add(current)) {
+                continue;
+            }
+            for (String next : prerequisites.getOrDefault(current, List.of())) {
+                if (next.equals(taskId)) {
+                    return true;
+                }
+                stack.push(next);
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,29 @@
+package com.enterprisesystemengineering.task;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface TaskDependencyRepository extends JpaRepository<TaskDependency, String> {
+    List<TaskDependency> findByTaskId(String taskId);
+    List<TaskDependency> findByDependsOnId(String dependsOnId);
+    Optional<TaskDependency> findByTaskIdAndDependsOnId(String taskId, String dependsOnId);
+    boolean existsByTaskIdOrDependsOnId(String taskId, String dependsOnId);
+
+    /**
+     * Locking read, so edges committed by a concurrent insert are visible to cycle detection.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("select d from TaskDependency d where d.workflowId = :workflowId")
+    List<TaskDependency> lockByWorkflowId(@Param("workflowId") String workflowId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from TaskDependency d where d.taskId = :taskId or d.dependsOnId = :taskId")
+    int deleteByTask(@Param("taskId") String taskId);
+}
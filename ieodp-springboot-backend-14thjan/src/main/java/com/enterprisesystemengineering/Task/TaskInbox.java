@@ -0,0 +1,183 @@
+package com.enterprisesystemengineering.task;
+
+import com.enterprisesystemengineering.cache.ReconciledView;
+import com.enterprisesystemengineering.exception.InvalidCursorException;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of open task ids per assignee, bucketed by status and ordered by {@link #STATUS_PRIORITY},
+ * then by id. Tasks in a {@link #TERMINAL} status leave the index, so it only grows with open work.
+ * Kept current from committed {@link TaskChangedEvent}s (create, reassign, status change, delete),
+ * seeded at startup and rebuilt on a schedule through {@link ReconciledView}.
+ * Page lookups never scan the tasks table; counts per status come from the dashboard counters.
+ */
+@Component
+public class TaskInbox {
+
+    static final Set<TaskStatus> TERMINAL = EnumSet.of(TaskStatus.COMPLETED);
+
+    /**
+     * Overdue and actionable work first; open statuses added to the enum later sort last.
+     */
+    static final List<TaskStatus> STATUS_PRIORITY = priorityOrder(
+            TaskStatus.ESCALATED, TaskStatus.PENDING, TaskStatus.BLOCKED);
+
+    private final ReconciledView<Map<String, Inbox>> inboxes;
+
+    public TaskInbox(TaskRepository repository) {
+        this.inboxes = new ReconciledView<>("task inbox", new ConcurrentHashMap<>(),
+                () -> load(repository.findInboxEntries(TERMINAL)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        inboxes.apply(current -> {
+            if (event.before() != null && event.before().assignedTo() != null) {
+                Inbox inbox = current.get(event.before().assignedTo());
+                if (inbox != null) {
+                    inbox.remove(event.before().status(), event.id());
+                }
+            }
+            if (event.after() != null && event.after().assignedTo() != null && isOpen(event.after().status())) {
+                current.computeIfAbsent(event.after().assignedTo(), k -> new Inbox())
+                        .add(event.after().status(), event.id());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        inboxes.seed();
+    }
+
+    @Scheduled(fixedDelayString = "${task.inbox.reconcile-interval-ms:300000}",
+            initialDelayString = "${task.inbox.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        inboxes.rebuild();
+    }
+
+    public static boolean isOpen(TaskStatus status) {
+        return status != null && !TERMINAL.contains(status);
+    }
+
+    /**
+     * Positions of up to {@code limit} tasks of the assignee's inbox that follow {@code after} (from the start
+     * when null), limited to {@code statuses} when given.
+     */
+    public List<Cursor> page(String assignedTo, Set<TaskStatus> statuses, Cursor after, int limit) {
+        Inbox inbox = inboxes.get().get(assignedTo);
+        if (inbox == null) {
+            return List.of();
+        }
+        return inbox.page(statuses, after, limit);
+    }
+
+    private static Map<String, Inbox> load(List<Object[]> rows) {
+        Map<String, Inbox> loaded = new ConcurrentHashMap<>();
+        for (Object[] row : rows) {
+            loaded.computeIfAbsent((String) row[1], k -> new Inbox()).add((TaskStatus) row[2], (String) row[0]);
+        }
+        return loaded;
+    }
+
+    private static List<TaskStatus> priorityOrder(TaskStatus... first) {
+        List<TaskStatus> order = new ArrayList<>(List.of(first));
+        for (TaskStatus status : TaskStatus.values()) {
+            if (!order.contains(status) && isOpen(status)) {
+                order.add(status);
+            }
+        }
+        return List.copyOf(order);
+    }
+
+    /**
+     * Position after the last task of an inbox page. Clients treat the encoded form as opaque.
+     */
+    public record Cursor(TaskStatus status, String id) {
+
+        private static final char SEPARATOR = '|';
+
+        public String encode() {
+            String raw = status.name() + SEPARATOR + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        public static Cursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.indexOf(SEPARATOR);
+                return new Cursor(TaskStatus.valueOf(raw.substring(0, separator)), raw.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException(e);
+            }
+        }
+    }
+
+    /**
+     * One assignee's task ids per status.
+     */
+    private static final class Inbox {
+
+        private final Map<TaskStatus, TreeSet<String>> byStatus = new EnumMap<>(TaskStatus.class);
+
+        synchronized void add(TaskStatus status, String id) {
+            byStatus.computeIfAbsent(status, s -> new TreeSet<>()).add(id);
+        }
+
+        synchronized void remove(TaskStatus status, String id) {
+            TreeSet<String> ids = byStatus.get(status);
+            if (ids != null) {
+                ids.remove(id);
+            }
+        }
+
+        /**
+         * Skips the buckets before the cursor's status and starts its bucket with a tail set,
+         * so a deep page costs the same as the first one.
+         */
+        synchronized List<Cursor> page(Set<TaskStatus> statuses, Cursor after, int limit) {
+            List<Cursor> page = new ArrayList<>(limit);
+            int first = after == null ? 0 : STATUS_PRIORITY.indexOf(after.status());
+            if (first < 0) {
+                return Collections.emptyList();
+            }
+            for (int i = first; i < STATUS_PRIORITY.size() && page.size() < limit; i++) {
+                TaskStatus status = STATUS_PRIORITY.get(i);
+                if (statuses != null && !statuses.isEmpty() && !statuses.contains(status)) {
+                    continue;
+                }
+                TreeSet<String> ids = byStatus.get(status);
+                if (ids == null || ids.isEmpty()) {
+                    continue;
+                }
+                NavigableSet<String> remaining = after != null && status == after.status()
+                        ? ids.tailSet(after.id(), false)
+                        : ids;
+                for (String id : remaining) {
+                    if (page.size() == limit) {
+                        break;
+                    }
+                    page.add(new Cursor(status, id));
+                }
+            }
+            return page.isEmpty() ? Collections.emptyList() : page;
+        }
+    }
+}
@@ -1,11 +1,75 @@
 package com.enterprisesystemengineering.task;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaskRepository extends JpaRepository<Task, String> {
     List<Task> findByAssignedTo(String userId);
     List<Task> findByWorkflowId(String workflowId);
     List<Task> findByStatus(TaskStatus status);
+
+    @Query("select t.workflowId from Task t where t.id = :id")
+    Optional<String> findWorkflowIdById(@Param("id") String id);
+
+    @Query("select t.id, t.assignedTo, t.status from Task t where t.assignedTo is not null and t.status not in :terminal")
+    List<Object[]> findInboxEntries(@Param("terminal") Collection<TaskStatus> terminal);
+
+    @Query("select t.id, t.assignedTo, t.status from Task t")
+    List<Object[]> findAssigneeAndStatus();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Task> findByIdInAndStatus(Collection<String> ids, TaskStatus status);
+
+    @Query("select t.id, t.statusChangedAt from Task t where t.status = :status")
+    List<Object[]> findStatusSince(@Param("status") TaskStatus status);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.status = :to, t.statusChangedAt = local datetime where t.id in :ids and t.status = :from")
+    int updateStatus(
+            @Param("ids") Collection<String> ids,
+            @Param("from") TaskStatus from,
+            @Param("to") TaskStatus to
+    );
+
+    /**
+     * Adds {@code delta} to the unmet prerequisite count of every task that depends on one of {@code ids},
+     * once per edge. Returns the number of dependents touched.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.unmetDependencies = t.unmetDependencies + :delta * " +
+            "(select count(d) from TaskDependency d where d.taskId = t.id and d.dependsOnId in :ids) " +
+            "where t.id in (select d.taskId from TaskDependency d where d.dependsOnId in :ids)")
+    int adjustDependentsOf(@Param("ids") Collection<String> ids, @Param("delta") int delta);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Task t set t.unmetDependencies = t.unmetDependencies + :delta where t.id = :id")
+    int adjustUnmetDependencies(@Param("id") String id, @Param("delta") int delta);
+
+    /**
+     * Dependents of {@code ids} in {@code status} whose prerequisites are all COMPLETED, locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.status = :status and t.unmetDependencies = 0 " +
+            "and t.id in (select d.taskId from TaskDependency d where d.dependsOnId in :ids)")
+    List<Task> lockReadyDependents(@Param("ids") Collection<String> ids, @Param("status") TaskStatus status);
+
+    /**
+     * Dependents of {@code ids} in {@code status} that still wait on a prerequisite, locked.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.status = :status and t.unmetDependencies > 0 " +
+            "and t.id in (select d.taskId from TaskDependency d where d.dependsOnId in :ids)")
+    List<Task> lockWaitingDependents(@Param("ids") Collection<String> ids, @Param("status") TaskStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Task t where t.id = :id")
+    Optional<Task> lockById(@Param("id") String id);
 }
@@ -1,77 +1,348 @@
 package com.enterprisesystemengineering.task;
 
+import com.enterprisesystemengineering.audit.AuditLog;
 import com.enterprisesystemengineering.audit.AuditService;
+import com.enterprisesystemengineering.audit.AuditStateCodec;
+import com.enterprisesystemengineering.dto.BulkStatusTransition;
+import com.enterprisesystemengineering.dto.BulkTransitionResult;
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.exception.BadRequestException;
+import com.enterprisesystemengineering.exception.ConflictException;
+import com.enterprisesystemengineering.stats.StatusCounterRegistry;
+import com.enterprisesystemengineering.workflow.WorkflowRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Transactional
 public class TaskService {
 
+    private static final int MAX_INBOX_PAGE_SIZE = 200;
+
     private final TaskRepository repository;
+    private final TaskDependencyRepository dependencyRepository;
+    private final WorkflowRepository workflowRepository;
     private final AuditService auditService;
+    private final AuditStateCodec auditStateCodec;
+    private final ApplicationEventPublisher events;
+    private final TaskInbox inbox;
+    private final StatusCounterRegistry statusCounters;
+    private final int bulkMaxIds;
 
-    public TaskService(TaskRepository repository, AuditService auditService) {
+    public TaskService(TaskRepository repository, TaskDependencyRepository dependencyRepository,
+                       WorkflowRepository workflowRepository, AuditService auditService,
+                       AuditStateCodec auditStateCodec, ApplicationEventPublisher events, TaskInbox inbox,
+                       StatusCounterRegistry statusCounters,
+                       @Value("${bulk.transition.max-ids:1000}") int bulkMaxIds) {
         this.repository = repository;
+        this.dependencyRepository = dependencyRepository;
+        this.workflowRepository = workflowRepository;
         this.auditService = auditService;
+        this.auditStateCodec = auditStateCodec;
+        this.events = events;
+        this.inbox = inbox;
+        this.statusCounters = statusCounters;
+        this.bulkMaxIds = bulkMaxIds;
     }
 
     public Task createTask(Task task) {
         if (task.getStatus() == null) {
             task.setStatus(TaskStatus.PENDING);
         }
+        task.setUnmetDependencies(0);
+        task.setStatusChangedAt(LocalDateTime.now());
         Task savedTask = repository.save(task);
         
         String userId = getCurrentUserId();
         String role = getCurrentUserRole();
         
         try {
-            auditService.log(userId, role, "CREATE_TASK", "Task", savedTask.getId(), null, savedTask.toString());
+            auditService.logSnapshot(userId, role, "CREATE_TASK", "Task", savedTask.getId(), savedTask);
         } catch (Exception e) {
             System.err.println("Failed to log audit: " + e.getMessage());
         }
         
+        events.publishEvent(TaskChangedEvent.created(savedTask));
         return savedTask;
     }
 
+    /**
+     * The row is read locked so the previous status is current; completing (or reopening) a task
+     * then adjusts only its direct dependents, see {@link #propagate}.
+     */
     public Task updateStatus(String id, TaskStatus status) {
-        Task task = repository.findById(id)
+        Task task = repository.lockById(id)
                 .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         
-        String oldState = task.toString();
+        ObjectNode oldState = auditStateCodec.capture(task);
+        TaskChangedEvent.State before = TaskChangedEvent.State.of(task);
+        TaskStatus previous = task.getStatus();
         task.setStatus(status);
+        if (status != previous) {
+            task.setStatusChangedAt(LocalDateTime.now());
+        }
         Task savedTask = repository.save(task);
 
         String userId = getCurrentUserId();
         String role = getCurrentUserRole();
 
         try {
-            auditService.log(userId, role, "UPDATE_TASK_STATUS", "Task", savedTask.getId(), oldState, savedTask.toString());
+            auditService.logChange(userId, role, "UPDATE_TASK_STATUS", "Task", savedTask.getId(), oldState, savedTask);
         } catch (Exception e) {
             System.err.println("Failed to log audit: " + e.getMessage());
         }
 
+        events.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        propagate(List.of(id), previous, status);
         return savedTask;
     }
 
+    /**
+     * Full update of title, status, assignee and workflow (PUT /tasks/{id}).
+     */
+    public Task updateTask(String id, Task details) {
+        Task task = repository.lockById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
+        if (!task.getWorkflowId().equals(details.getWorkflowId())
+                && dependencyRepository.existsByTaskIdOrDependsOnId(id, id)) {
+            throw new BadRequestException("Remove the task's dependencies before moving it to another workflow");
+        }
+
+        ObjectNode oldState = auditStateCodec.capture(task);
+        TaskChangedEvent.State before = TaskChangedEvent.State.of(task);
+        TaskStatus previous = task.getStatus();
+        task.setTitle(details.getTitle());
+        if (details.getStatus() != previous) {
+            task.setStatusChangedAt(LocalDateTime.now());
+        }
+        task.setStatus(details.getStatus());
+        task.setAssignedTo(details.getAssignedTo());
+        task.setWorkflowId(details.getWorkflowId());
+        Task savedTask = repository.save(task);
+
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+
+        try {
+            auditService.logChange(userId, role, "UPDATE_TASK", "Task", savedTask.getId(), oldState, savedTask);
+        } catch (Exception e) {
+            System.err.println("Failed to log audit: " + e.getMessage());
+        }
+
+        events.publishEvent(TaskChangedEvent.updated(before, savedTask));
+        propagate(List.of(id), previous, savedTask.getStatus());
+        return savedTask;
+    }
+
+    /**
+     * Moves every listed task that is currently in {@code from} to {@code to} with one set-based UPDATE.
+     * Matching rows are locked first so the returned ids are exactly the ones that changed;
+     * their audit entries are written with one batch insert in the same transaction.
+     */
+    public BulkTransitionResult transitionStatus(BulkStatusTransition<TaskStatus> request) {
+        if (request.getIds() == null || request.getFrom() == null || request.getTo() == null) {
+            throw new BadRequestException("ids, from and to are required");
+        }
+        Set<String> ids = new LinkedHashSet<>(request.getIds());
+        if (ids.size() > bulkMaxIds) {
+            throw new BadRequestException("Bulk transition exceeds " + bulkMaxIds + " ids");
+        }
+        if (ids.isEmpty() || request.getFrom() == request.getTo()) {
+            return new BulkTransitionResult(List.of(), new ArrayList<>(ids));
+        }
+
+        List<String> transitioned = applyTransition(repository.findByIdInAndStatus(ids, request.getFrom()),
+                request.getFrom(), request.getTo(), "UPDATE_TASK_STATUS");
+        propagate(transitioned, request.getFrom(), request.getTo());
+
+        Set<String> skipped = new LinkedHashSet<>(ids);
+        transitioned.forEach(skipped::remove);
+        return new BulkTransitionResult(transitioned, new ArrayList<>(skipped));
+    }
+
+    /**
+     * Moves the listed tasks that are still PENDING to ESCALATED in one batch; used by the SLA engine.
+     * Returns the ids that moved.
+     */
+    public List<String> escalate(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return applyTransition(repository.findByIdInAndStatus(ids, TaskStatus.PENDING),
+                TaskStatus.PENDING, TaskStatus.ESCALATED, "ESCALATE_TASK");
+    }
+
+    /**
+     * Makes {@code taskId} wait for {@code dependsOnId}; both must belong to the same workflow.
+     * Edge inserts are serialized per workflow by locking its row, so the cycle check always sees every
+     * committed edge. A PENDING task that gains an incomplete prerequisite moves to BLOCKED.
+     * Adding an edge that already exists returns it unchanged.
+     */
+    public TaskDependency addDependency(String taskId, String dependsOnId) {
+        if (dependsOnId == null || dependsOnId.isBlank()) {
+            throw new BadRequestException("dependsOnId is required");
+        }
+        String workflowId = repository.findWorkflowIdById(taskId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + taskId));
+        String prerequisiteWorkflowId = repository.findWorkflowIdById(dependsOnId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + dependsOnId));
+        if (!workflowId.equals(prerequisiteWorkflowId)) {
+            throw new BadRequestException("Task dependencies must stay within one workflow");
+        }
+        workflowRepository.lockById(workflowId)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + workflowId));
+
+        List<TaskDependency> edges = dependencyRepository.lockByWorkflowId(workflowId);
+        for (TaskDependency edge : edges) {
+            if (edge.getTaskId().equals(taskId) && edge.getDependsOnId().equals(dependsOnId)) {
+                return edge;
+            }
+        }
+        if (new TaskDependencyGraph(edges).wouldCycle(taskId, dependsOnId)) {
+            throw new ConflictException("Task " + taskId + " cannot depend on " + dependsOnId + ": it would create a cycle");
+        }
+
+        // locked, so the prerequisite cannot complete between reading its status and counting the edge
+        Task prerequisite = repository.lockById(dependsOnId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + dependsOnId));
+        TaskDependency saved = dependencyRepository.save(TaskDependency.builder()
+                .workflowId(workflowId)
+                .taskId(taskId)
+                .dependsOnId(dependsOnId)
+                .build());
+        if (prerequisite.getStatus() != TaskStatus.COMPLETED) {
+            repository.adjustUnmetDependencies(taskId, 1);
+            applyTransition(repository.findByIdInAndStatus(List.of(taskId), TaskStatus.PENDING),
+                    TaskStatus.PENDING, TaskStatus.BLOCKED, "BLOCK_TASK");
+        }
+
+        try {
+            auditService.logSnapshot(getCurrentUserId(), getCurrentUserRole(), "ADD_TASK_DEPENDENCY",
+                    "TaskDependency", saved.getId(), saved);
+        } catch (Exception e) {
+            System.err.println("Failed to log audit: " + e.getMessage());
+        }
+        return saved;
+    }
+
+    /**
+     * Drops one edge; a BLOCKED task left without incomplete prerequisites moves to PENDING.
+     */
+    public void removeDependency(String taskId, String dependsOnId) {
+        TaskDependency edge = dependencyRepository.findByTaskIdAndDependsOnId(taskId, dependsOnId)
+                .orElseThrow(() -> new RuntimeException("Task " + taskId + " does not depend on " + dependsOnId));
+        Task prerequisite = repository.lockById(dependsOnId)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + dependsOnId));
+
+        dependencyRepository.delete(edge);
+        if (prerequisite.getStatus() != TaskStatus.COMPLETED) {
+            repository.adjustUnmetDependencies(taskId, -1);
+            List<Task> ready = new ArrayList<>();
+            for (Task task : repository.findByIdInAndStatus(List.of(taskId), TaskStatus.BLOCKED)) {
+                if (task.getUnmetDependencies() == 0) {
+                    ready.add(task);
+                }
+            }
+            applyTransition(ready, TaskStatus.BLOCKED, TaskStatus.PENDING, "UNBLOCK_TASK");
+        }
+
+        try {
+            auditService.log(getCurrentUserId(), getCurrentUserRole(), "REMOVE_TASK_DEPENDENCY",
+                    "TaskDependency", edge.getId(), "EXISTING", "DELETED");
+        } catch (Exception e) {
+            System.err.println("Failed to log audit: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Edges from {@code taskId} to the tasks it waits for.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDependency> getDependencies(String taskId) {
+        return dependencyRepository.findByTaskId(taskId);
+    }
+
+    /**
+     * Edges from the tasks waiting for {@code taskId}.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskDependency> getDependents(String taskId) {
+        return dependencyRepository.findByDependsOnId(taskId);
+    }
+
     @Transactional(readOnly = true)
     public List<Task> getByUser(String userId) {
         return repository.findByAssignedTo(userId);
     }
 
+    /**
+     * One keyset page of the assignee's open tasks, ordered by status priority. Ids come from
+     * {@link TaskInbox} and only the page's rows are loaded, by primary key; the approximate total comes
+     * from the dashboard counters.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Task> getInbox(String userId, Set<TaskStatus> statuses, String cursor, int size) {
+        if (statuses != null && !statuses.stream().allMatch(TaskInbox::isOpen)) {
+            throw new BadRequestException("The inbox holds open tasks only, use GET /tasks/assigned/{userId} for others");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_INBOX_PAGE_SIZE));
+        TaskInbox.Cursor after = cursor == null || cursor.isEmpty() ? null : TaskInbox.Cursor.decode(cursor);
+        List<TaskInbox.Cursor> positions = inbox.page(userId, statuses, after, pageSize + 1);
+        boolean hasNext = positions.size() > pageSize;
+        if (hasNext) {
+            positions = positions.subList(0, pageSize);
+        }
+
+        List<String> ids = positions.stream().map(TaskInbox.Cursor::id).toList();
+        Map<String, Task> loaded = new HashMap<>();
+        for (Task task : repository.findAllById(ids)) {
+            loaded.put(task.getId(), task);
+        }
+        List<Task> content = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            Task task = loaded.get(id);
+            // skip rows reassigned, closed or deleted since the index was read
+            if (task != null && userId.equals(task.getAssignedTo()) && TaskInbox.isOpen(task.getStatus())) {
+                content.add(task);
+            }
+        }
+
+        long total = 0;
+        for (Map.Entry<String, Long> count : statusCounters.taskStatsForAssignee(userId).entrySet()) {
+            TaskStatus status = TaskStatus.valueOf(count.getKey());
+            if (TaskInbox.isOpen(status) && (statuses == null || statuses.isEmpty() || statuses.contains(status))) {
+                total += count.getValue();
+            }
+        }
+        String nextCursor = hasNext ? positions.get(positions.size() - 1).encode() : null;
+        return new CursorPage<>(content, pageSize, hasNext, nextCursor, total);
+    }
+
     @Transactional(readOnly = true)
     public List<Task> getByWorkflow(String workflowId) {
         return repository.findByWorkflowId(workflowId);
     }
 
+    /**
+     * Deleting an incomplete task releases its dependents as if it had completed.
+     */
     public void deleteTask(String id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Task not found with id: " + id);
-        }
+        Task task = repository.lockById(id)
+                .orElseThrow(() -> new RuntimeException("Task not found with id: " + id));
         
         String userId = getCurrentUserId();
         String role = getCurrentUserRole();
@@ -81,7 +352,62 @@ public class TaskService {
             System.err.println("Failed to log audit: " + e.getMessage());
         }
 
+        propagate(List.of(id), task.getStatus(), TaskStatus.COMPLETED);
+        dependencyRepository.deleteByTask(id);
         repository.deleteById(id);
+        events.publishEvent(TaskChangedEvent.deleted(task));
+    }
+
+    /**
+     * Incremental propagation after {@code ids} moved from {@code from} to {@code to}: when they became
+     * COMPLETED each direct dependent's unmet count drops by its edges to them, and dependents that reach
+     * zero move BLOCKED -> PENDING; reopening a completed task does the reverse for PENDING dependents.
+     * Both steps are set-based statements over the edges of {@code ids} only, and they read the latest
+     * committed rows, so two prerequisites completing concurrently cannot both miss the last unblock.
+     */
+    private void propagate(Collection<String> ids, TaskStatus from, TaskStatus to) {
+        boolean completed = to == TaskStatus.COMPLETED;
+        if (ids.isEmpty() || (from == TaskStatus.COMPLETED) == completed) {
+            return;
+        }
+        if (repository.adjustDependentsOf(ids, completed ? -1 : 1) == 0) {
+            return;
+        }
+        if (completed) {
+            applyTransition(repository.lockReadyDependents(ids, TaskStatus.BLOCKED),
+                    TaskStatus.BLOCKED, TaskStatus.PENDING, "UNBLOCK_TASK");
+        } else {
+            applyTransition(repository.lockWaitingDependents(ids, TaskStatus.PENDING),
+                    TaskStatus.PENDING, TaskStatus.BLOCKED, "BLOCK_TASK");
+        }
+    }
+
+    /**
+     * Moves already locked tasks from {@code from} to {@code to} with one set-based UPDATE, one batch audit
+     * insert and a change event per task. Returns the ids that moved.
+     */
+    private List<String> applyTransition(List<Task> locked, TaskStatus from, TaskStatus to, String action) {
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        List<String> transitioned = new ArrayList<>(locked.size());
+        List<AuditLog> audits = new ArrayList<>(locked.size());
+        List<TaskChangedEvent> changes = new ArrayList<>(locked.size());
+        for (Task task : locked) {
+            ObjectNode before = auditStateCodec.capture(task);
+            ObjectNode after = before.deepCopy();
+            after.put("status", to.name());
+            audits.add(auditService.change(userId, role, action, "Task", task.getId(), before, after));
+            transitioned.add(task.getId());
+            changes.add(new TaskChangedEvent(task.getId(), TaskChangedEvent.State.of(task),
+                    new TaskChangedEvent.State(to, task.getAssignedTo(), task.getWorkflowId())));
+        }
+        repository.updateStatus(transitioned, from, to);
+        auditService.logAll(audits);
+        changes.forEach(events::publishEvent);
+        return transitioned;
     }
 
     private String getCurrentUserId() {
@@ -3,6 +3,7 @@ package com.enterprisesystemengineering.task;
 public enum TaskStatus {
     PENDING,
     COMPLETED,
-    BLOCKED
+    BLOCKED,
+    ESCALATED
 }
 
@@ -0,0 +1,406 @@
+package com.enterprisesystemengineering.audit;
+
+import com.enterprisesystemengineering.dto.KeysetCursor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Read access to archived audit entries across all segment files, plus segment creation for
+ * {@link AuditArchiveService}. Archived entries are always older than every row in audit_logs,
+ * so callers read the hot table first and continue into the archive.
+ * <p>
+ * A segment is memory-mapped whole, so an archive run rolls over to a new segment file once the current one
+ * reaches {@code audit.archive.max-segment-bytes}. Lookups by id go through one in-heap index of id hashes
+ * across all segments instead of probing every segment.
+ */
+@Component
+public class AuditArchive {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchive.class);
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Leaves room under the 2 GB mapping limit for the block that crosses the cap and the index.
+     */
+    static final long MAX_SEGMENT_BYTES = 1L << 30;
+
+    private final Path directory;
+    private final int blockSize;
+    private final long maxSegmentBytes;
+
+    /**
+     * Copy-on-write, ascending by time range; replaced whole when a segment is added.
+     */
+    private volatile List<AuditSegment> segments = List.of();
+    private volatile IdIndex idIndex = IdIndex.of(List.of());
+
+    public AuditArchive(
+            @Value("${audit.archive.directory:audit-archive}") String directory,
+            @Value("${audit.archive.block-size:256}") int blockSize,
+            @Value("${audit.archive.max-segment-bytes:1073741824}") long maxSegmentBytes) {
+        if (maxSegmentBytes <= 0 || maxSegmentBytes > MAX_SEGMENT_BYTES) {
+            throw new IllegalStateException("audit.archive.max-segment-bytes must be between 1 and " + MAX_SEGMENT_BYTES);
+        }
+        this.directory = Paths.get(directory);
+        this.blockSize = blockSize;
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    @PostConstruct
+    void openSegments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        List<AuditSegment> opened = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TEMP_SUFFIX)) {
+                    // left behind by an interrupted archive run whose rows were never deleted
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(SEGMENT_SUFFIX)) {
+                    opened.add(AuditSegment.open(file));
+                }
+            }
+        }
+        publish(opened);
+        log.info("Opened {} audit archive segments holding {} entries", opened.size(), count());
+    }
+
+    @PreDestroy
+    void closeSegments() {
+        for (AuditSegment segment : segments) {
+            try {
+                segment.close();
+            } catch (IOException e) {
+                log.warn("Failed to close audit segment {}", segment.file(), e);
+            }
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (AuditSegment segment : segments) {
+            total += segment.recordCount();
+        }
+        return total;
+    }
+
+    /**
+     * Writes one or more immutable segments named after {@code name} and makes each visible to readers as
+     * soon as it is complete. A file only appears under its final name once it is complete and synced;
+     * when the source fails, segments already completed stay, and the unfinished one is deleted.
+     */
+    synchronized long writeSegment(String name, SegmentSource source) throws IOException {
+        Files.createDirectories(directory);
+        try (RollingWriter writer = new RollingWriter(name)) {
+            source.writeTo(writer);
+            writer.finish();
+            return writer.recordCount;
+        }
+    }
+
+    private void add(AuditSegment segment) {
+        List<AuditSegment> updated = new ArrayList<>(segments);
+        updated.add(segment);
+        publish(updated);
+    }
+
+    private void publish(List<AuditSegment> updated) {
+        updated.sort(Comparator.comparingLong(AuditSegment::minMicros));
+        List<AuditSegment> published = List.copyOf(updated);
+        idIndex = IdIndex.of(published);
+        segments = published;
+    }
+
+    /**
+     * Ids already archived in segments named after the given period, so a re-run after a crash
+     * between segment write and row delete does not archive the same rows twice.
+     */
+    Set<String> archivedIds(String name) {
+        Set<String> ids = new HashSet<>();
+        for (AuditSegment segment : segments) {
+            if (segment.file().getFileName().toString().startsWith(name + "-")) {
+                for (int b = 0; b < segment.blockCount(); b++) {
+                    segment.readBlock(b).forEach(audit -> ids.add(audit.getId()));
+                }
+            }
+        }
+        return ids;
+    }
+
+    public Optional<AuditLog> findById(String id) {
+        IdIndex index = idIndex;
+        int hash = AuditSegment.hash(id);
+        for (int i = index.first(hash); i >= 0 && i < index.hashes.length && index.hashes[i] == hash; i++) {
+            for (AuditLog audit : index.segments[i].readBlock(index.blocks[i])) {
+                if (audit.getId().equals(id)) {
+                    return Optional.of(audit);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    public List<AuditLog> findByIds(Collection<String> ids) {
+        List<AuditLog> found = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            findById(id).ifPresent(found::add);
+        }
+        return found;
+    }
+
+    /**
+     * Entries for one entity instance at or before {@code upTo}, ascending.
+     */
+    public List<AuditLog> history(String entity, String entityId, LocalDateTime upTo) {
+        long limit = AuditSegment.toMicros(upTo);
+        List<AuditLog> history = new ArrayList<>();
+        for (AuditSegment segment : segments) {
+            if (segment.minMicros() > limit) {
+                break;
+            }
+            for (int b = 0; b < segment.blockCount(); b++) {
+                AuditSegment.BlockInfo block = segment.block(b);
+                if (block.minMicros() > limit) {
+                    break;
+                }
+                if (!block.mayContainEntityId(entityId)) {
+                    continue;
+                }
+                for (AuditLog audit : segment.readBlock(b)) {
+                    if (entity.equals(audit.getEntity()) && entityId.equals(audit.getEntityId())
+                            && !audit.getTimestamp().isAfter(upTo)) {
+                        history.add(audit);
+                    }
+                }
+            }
+        }
+        return history;
+    }
+
+    /**
+     * Up to {@code limit} entries strictly older than {@code before} (or the newest, when null),
+     * newest first, optionally restricted to one entity type.
+     */
+    public List<AuditLog> findOlderThan(KeysetCursor before, String entity, int limit) {
+        List<AuditLog> result = new ArrayList<>(limit);
+        long beforeMicros = before != null ? AuditSegment.toMicros(before.timestamp()) : Long.MAX_VALUE;
+        List<AuditSegment> current = segments;
+
+        for (int s = current.size() - 1; s >= 0 && result.size() < limit; s--) {
+            AuditSegment segment = current.get(s);
+            if (segment.minMicros() > beforeMicros) {
+                continue;
+            }
+            for (int b = segment.blockCount() - 1; b >= 0 && result.size() < limit; b--) {
+                if (segment.block(b).minMicros() > beforeMicros) {
+                    continue;
+                }
+                List<AuditLog> records = segment.readBlock(b);
+                for (int r = records.size() - 1; r >= 0 && result.size() < limit; r--) {
+                    AuditLog audit = records.get(r);
+                    if (before != null && !isOlder(audit, before)) {
+                        continue;
+                    }
+                    if (entity != null && !entity.equals(audit.getEntity())) {
+                        continue;
+                    }
+                    result.add(audit);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Streams every archived entry, oldest first.
+     */
+    public void forEach(Consumer<AuditLog> consumer) {
+        for (AuditSegment segment : segments) {
+            for (int b = 0; b < segment.blockCount(); b++) {
+                segment.readBlock(b).forEach(consumer);
+            }
+        }
+    }
+
+    private static boolean isOlder(AuditLog audit, KeysetCursor before) {
+        int byTime = audit.getTimestamp().compareTo(before.timestamp());
+        return byTime < 0 || (byTime == 0 && audit.getId().compareTo(before.id()) < 0);
+    }
+
+    private Path uniqueSegmentPath(String name) {
+        for (int sequence = 0; ; sequence++) {
+            Path candidate = directory.resolve(String.format("%s-%03d%s", name, sequence, SEGMENT_SUFFIX));
+            if (!Files.exists(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface SegmentSource {
+        void writeTo(SegmentAppender writer) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface SegmentAppender {
+        /**
+         * Records must arrive in ascending (timestamp, id) order.
+         */
+        void append(AuditLog audit) throws IOException;
+    }
+
+    /**
+     * Appends into a temp file and rolls over to the next segment once the current one reaches the size cap.
+     */
+    private final class RollingWriter implements SegmentAppender, AutoCloseable {
+
+        private final String name;
+        private AuditSegmentWriter current;
+        private Path currentTarget;
+        private Path currentTemp;
+        private long recordCount;
+
+        RollingWriter(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void append(AuditLog audit) throws IOException {
+            if (current == null) {
+                currentTarget = uniqueSegmentPath(name);
+                currentTemp = currentTarget.resolveSibling(currentTarget.getFileName() + TEMP_SUFFIX);
+                current = new AuditSegmentWriter(currentTemp, blockSize);
+            }
+            current.append(audit);
+            recordCount++;
+            if (current.bytesWritten() >= maxSegmentBytes) {
+                complete();
+            }
+        }
+
+        void finish() throws IOException {
+            if (current != null) {
+                complete();
+            }
+        }
+
+        private void complete() throws IOException {
+            AuditSegmentWriter writer = current;
+            current = null;
+            try {
+                writer.close();
+                Files.move(currentTemp, currentTarget, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(currentTemp);
+                throw e;
+            }
+            add(AuditSegment.open(currentTarget));
+        }
+
+        /**
+         * Discards the unfinished segment, if any, after a failure.
+         */
+        @Override
+        public void close() throws IOException {
+            if (current != null) {
+                try {
+                    current.close();
+                } finally {
+                    Files.deleteIfExists(currentTemp);
+                    current = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Id hashes of every archived entry, sorted, each with the segment and block holding it.
+     * Rebuilt whenever the segment list changes.
+     */
+    private static final class IdIndex {
+
+        private final int[] hashes;
+        private final AuditSegment[] segments;
+        private final int[] blocks;
+
+        private IdIndex(int[] hashes, AuditSegment[] segments, int[] blocks) {
+            this.hashes = hashes;
+            this.segments = segments;
+            this.blocks = blocks;
+        }
+
+        static IdIndex of(List<AuditSegment> segments) {
+            int total = 0;
+            for (AuditSegment segment : segments) {
+                for (int b = 0; b < segment.blockCount(); b++) {
+                    total += segment.block(b).idHashes().length;
+                }
+            }
+            long[] packed = new long[total];
+            AuditSegment[] segmentOf = new AuditSegment[total];
+            int[] blockOf = new int[total];
+            int n = 0;
+            for (AuditSegment segment : segments) {
+                for (int b = 0; b < segment.blockCount(); b++) {
+                    for (int hash : segment.block(b).idHashes()) {
+                        packed[n] = ((long) hash << 32) | n;
+                        segmentOf[n] = segment;
+                        blockOf[n] = b;
+                        n++;
+                    }
+                }
+            }
+            Arrays.sort(packed);
+
+            int[] hashes = new int[total];
+            AuditSegment[] sortedSegments = new AuditSegment[total];
+            int[] sortedBlocks = new int[total];
+            for (int i = 0; i < total; i++) {
+                int entry = (int) packed[i];
+                hashes[i] = (int) (packed[i] >> 32);
+                sortedSegments[i] = segmentOf[entry];
+                sortedBlocks[i] = blockOf[entry];
+            }
+            return new IdIndex(hashes, sortedSegments, sortedBlocks);
+        }
+
+        /**
+         * Position of the first entry with this hash, or -1.
+         */
+        int first(int hash) {
+            int i = Arrays.binarySearch(hashes, hash);
+            if (i < 0) {
+                return -1;
+            }
+            while (i > 0 && hashes[i - 1] == hash) {
+                i--;
+            }
+            return i;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.enterprisesystemengineering.audit;
+
+import com.enterprisesystemengineering.config.StreamingFetchSize;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves audit_logs rows older than {@code audit.archive.max-age-days} into one segment file per day or month,
+ * then deletes them from the table. Only complete periods are archived.
+ */
+@Service
+public class AuditArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditArchiveService.class);
+
+    public enum SegmentPeriod {
+        DAY, MONTH;
+
+        LocalDateTime start(LocalDateTime timestamp) {
+            LocalDate date = timestamp.toLocalDate();
+            return (this == DAY ? date : date.withDayOfMonth(1)).atStartOfDay();
+        }
+
+        LocalDateTime next(LocalDateTime start) {
+            return this == DAY ? start.plusDays(1) : start.plusMonths(1);
+        }
+
+        String name(LocalDateTime start) {
+            return "audit-" + start.format(this == DAY ? DateTimeFormatter.ISO_LOCAL_DATE : DateTimeFormatter.ofPattern("yyyy-MM"));
+        }
+    }
+
+    private static final String OLDEST_SQL = "SELECT MIN(timestamp) FROM audit_logs";
+
+    private static final String SELECT_PERIOD_SQL =
+            "SELECT id, user_id, role, action, entity, entity_id, previous_state, new_state, state_format, timestamp "
+                    + "FROM audit_logs WHERE timestamp >= ? AND timestamp < ? ORDER BY timestamp, id";
+
+    private static final String DELETE_PERIOD_SQL =
+            "DELETE FROM audit_logs WHERE timestamp >= ? AND timestamp < ? LIMIT ?";
+
+    private static final RowMapper<AuditLog> ROW_MAPPER = (rs, rowNum) -> {
+        String format = rs.getString("state_format");
+        return AuditLog.builder()
+                .id(rs.getString("id"))
+                .userId(rs.getString("user_id"))
+                .role(rs.getString("role"))
+                .action(rs.getString("action"))
+                .entity(rs.getString("entity"))
+                .entityId(rs.getString("entity_id"))
+                .previousState(rs.getString("previous_state"))
+                .newState(rs.getString("new_state"))
+                .stateFormat(format != null ? AuditStateFormat.valueOf(format) : null)
+                .timestamp(rs.getObject("timestamp", LocalDateTime.class))
+                .build();
+    };
+
+    private final AuditArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final int maxAgeDays;
+    private final SegmentPeriod period;
+    private final int deleteBatchSize;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService runner = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "audit-archive");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuditArchiveService(
+            AuditArchive archive,
+            JdbcTemplate jdbcTemplate,
+            DataSource dataSource,
+            StreamingFetchSize streamingFetchSize,
+            @Value("${audit.archive.enabled:false}") boolean enabled,
+            @Value("${audit.archive.max-age-days:90}") int maxAgeDays,
+            @Value("${audit.archive.segment-period:DAY}") SegmentPeriod period,
+            @Value("${audit.archive.delete-batch-size:5000}") int deleteBatchSize,
+            @Value("${audit.archive.fetch-size:5000}") int fetchSize) {
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamingFetchSize.rows(fetchSize));
+        this.enabled = enabled;
+        this.maxAgeDays = maxAgeDays;
+        this.period = period;
+        this.deleteBatchSize = deleteBatchSize;
+    }
+
+    @Scheduled(cron = "${audit.archive.cron:0 15 2 * * *}")
+    public void archiveScheduled() {
+        if (enabled) {
+            archiveExpired();
+        }
+    }
+
+    /**
+     * Starts {@link #archiveExpired} in the background.
+     *
+     * @return false when a run is already in progress
+     */
+    public boolean requestArchive() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            runner.execute(() -> {
+                try {
+                    archive();
+                } catch (RuntimeException e) {
+                    log.error("Audit archive run failed", e);
+                } finally {
+                    running.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * Archives every complete period older than the configured age.
+     * Returns the number of rows moved, or -1 when a run is already in progress.
+     */
+    public long archiveExpired() {
+        if (!running.compareAndSet(false, true)) {
+            return -1;
+        }
+        try {
+            return archive();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private long archive() {
+        try {
+            LocalDateTime cutoff = period.start(LocalDateTime.now().minusDays(maxAgeDays));
+            long moved = 0;
+            LocalDateTime oldest = jdbcTemplate.queryForObject(OLDEST_SQL, LocalDateTime.class);
+            while (oldest != null && oldest.isBefore(cutoff)) {
+                LocalDateTime start = period.start(oldest);
+                moved += archivePeriod(start, period.next(start));
+                oldest = jdbcTemplate.queryForObject(OLDEST_SQL, LocalDateTime.class);
+            }
+            if (moved > 0) {
+                log.info("Archived {} audit entries older than {}", moved, cutoff);
+            }
+            return moved;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Audit archive run failed", e);
+        }
+    }
+
+    private long archivePeriod(LocalDateTime start, LocalDateTime end) throws IOException {
+        String name = period.name(start);
+        Set<String> alreadyArchived = archive.archivedIds(name);
+
+        long written = archive.writeSegment(name, writer -> {
+            try {
+                streamingJdbcTemplate.query(SELECT_PERIOD_SQL, rs -> {
+                    AuditLog audit = ROW_MAPPER.mapRow(rs, 0);
+                    if (!alreadyArchived.contains(audit.getId())) {
+                        try {
+                            writer.append(audit);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                }, start, end);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        });
+
+        // rows are only deleted once their segment is durable on disk
+        long deleted = 0;
+        int batch;
+        do {
+            batch = jdbcTemplate.update(DELETE_PERIOD_SQL, start, end, deleteBatchSize);
+            deleted += batch;
+        } while (batch > 0);
+
+        log.debug("Archived {} ({} written, {} deleted)", name, written, deleted);
+        return deleted;
+    }
+}
@@ -1,21 +1,46 @@
 package com.enterprisesystemengineering.audit;
 
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.exception.ConflictException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 @RestController
 @RequestMapping("/auditLogs")
 public class AuditController {
 
     private final AuditRepository repository;
+    private final AuditHistoryService historyService;
+    private final AuditSearchIndex searchIndex;
+    private final AuditQueryService queryService;
+    private final AuditArchive archive;
+    private final AuditArchiveService archiveService;
 
-    public AuditController(AuditRepository repository) {
+    public AuditController(AuditRepository repository, AuditHistoryService historyService,
+                           AuditSearchIndex searchIndex, AuditQueryService queryService,
+                           AuditArchive archive, AuditArchiveService archiveService) {
         this.repository = repository;
+        this.historyService = historyService;
+        this.searchIndex = searchIndex;
+        this.queryService = queryService;
+        this.archive = archive;
+        this.archiveService = archiveService;
     }
 
     /**
@@ -26,11 +51,16 @@ public class AuditController {
     public ResponseEntity<AuditLog> createAudit(
             @Valid @RequestBody AuditLog auditLog,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.status(HttpStatus.CREATED).body(repository.save(auditLog));
+        AuditLog saved = repository.save(auditLog);
+        searchIndex.onWritten(List.of(saved));
+        return ResponseEntity.status(HttpStatus.CREATED).body(saved);
     }
 
     /**
-     * GET /auditLogs - Get all audit logs
+     * GET /auditLogs - Get all audit logs, newest first
+     * search matches entity, action, userId and entityId; answered from the trigram index once it is warm
+     * and the search has at least 3 characters (totalElements is then an upper bound until the last page),
+     * otherwise from SQL
      */
     @GetMapping
     public ResponseEntity<Page<AuditLog>> getAuditLogs(
@@ -38,10 +68,52 @@ public class AuditController {
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String search,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.ok(repository.findByEntityContainingIgnoreCase(
-                search,
-                PageRequest.of(page, size)
-        ));
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "timestamp"));
+
+        Optional<AuditSearchIndex.SearchPage> indexed = searchIndex.search(search, page, size);
+        if (indexed.isPresent()) {
+            List<String> ids = indexed.get().ids();
+            Map<String, AuditLog> byId = repository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(AuditLog::getId, Function.identity()));
+            if (byId.size() < ids.size()) {
+                List<String> archivedIds = ids.stream().filter(id -> !byId.containsKey(id)).toList();
+                archive.findByIds(archivedIds).forEach(audit -> byId.put(audit.getId(), audit));
+            }
+            List<AuditLog> content = ids.stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+            return ResponseEntity.ok(new PageImpl<>(content, pageable, indexed.get().total()));
+        }
+
+        return ResponseEntity.ok(repository.search(search, pageable));
+    }
+
+    /**
+     * GET /auditLogs/cursor - Keyset page, newest first, without a total count
+     * Pass the returned nextCursor to fetch the following page; entity is an optional exact filter
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<AuditLog>> getAuditLogSlice(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String entity,
+            @RequestParam(defaultValue = "false") boolean approximateTotal,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return ResponseEntity.ok(queryService.getSlice(cursor, size, entity, approximateTotal));
+    }
+
+    /**
+     * POST /auditLogs/search-index/rebuild - Rebuild the search index from the database
+     * 409 while a rebuild is already running
+     */
+    @PostMapping("/search-index/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> rebuildSearchIndex() {
+        if (!searchIndex.requestRebuild()) {
+            throw new ConflictException("A search index rebuild is already running");
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -51,9 +123,30 @@ public class AuditController {
     public ResponseEntity<AuditLog> getAuditById(
             @PathVariable String id,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        AuditLog auditLog = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Audit log not found"));
-        return ResponseEntity.ok(auditLog);
+        return ResponseEntity.ok(queryService.getById(id));
+    }
+
+    /**
+     * GET /auditLogs/{id}/state - Entity state as of this audit entry, rebuilt from snapshot + deltas
+     */
+    @GetMapping("/{id}/state")
+    public ResponseEntity<ObjectNode> getStateAt(
+            @PathVariable String id,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return ResponseEntity.ok(historyService.reconstruct(id));
+    }
+
+    /**
+     * POST /auditLogs/archive/run - Archive expired audit logs now instead of waiting for the schedule
+     * Runs in the background; 409 while a run is already in progress
+     */
+    @PostMapping("/archive/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Void> runArchive() {
+        if (!archiveService.requestArchive()) {
+            throw new ConflictException("An audit archive run is already in progress");
+        }
+        return ResponseEntity.accepted().build();
     }
 
     /**
@@ -64,8 +157,11 @@ public class AuditController {
             @PathVariable String id,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         AuditLog auditLog = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Audit log not found"));
+                .orElseThrow(() -> archive.findById(id).isPresent()
+                        ? new RuntimeException("Archived audit logs are immutable")
+                        : new RuntimeException("Audit log not found"));
         repository.delete(auditLog);
+        searchIndex.remove(id);
         return ResponseEntity.noContent().build();
     }
 }
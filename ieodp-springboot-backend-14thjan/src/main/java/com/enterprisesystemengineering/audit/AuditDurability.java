@@ -0,0 +1,18 @@
+package com.enterprisesystemengineering.audit;
+
+/**
+ * When {@link AuditService#log} writes its entry and whether a failure reaches the caller.
+ */
+public enum AuditDurability {
+
+    /**
+     * Insert on the caller's thread, joining the caller's transaction when there is one.
+     */
+    SYNC_COMMIT,
+
+    /**
+     * Queue the entry once the caller's transaction commits and return immediately; a rolled-back
+     * transaction leaves no entry. Write failures are logged, not thrown.
+     */
+    FIRE_AND_FORGET
+}
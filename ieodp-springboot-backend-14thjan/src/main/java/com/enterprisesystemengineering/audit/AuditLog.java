@@ -7,7 +7,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_audit_logs_entity_timestamp", columnList = "entity, timestamp"),
+        @Index(name = "idx_audit_logs_entity_entity_id_timestamp", columnList = "entity, entity_id, timestamp")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -47,6 +51,11 @@ public class AuditLog {
     @JsonProperty("newState")
     private String newState;
 
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    @JsonProperty("stateFormat")
+    private AuditStateFormat stateFormat;
+
     @Column(nullable = false, updatable = false)
     @JsonProperty("timestamp")
     private LocalDateTime timestamp;
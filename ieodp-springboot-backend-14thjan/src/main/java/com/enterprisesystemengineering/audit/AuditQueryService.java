@@ -0,0 +1,95 @@
+package com.enterprisesystemengineering.audit;
+
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.dto.KeysetCursor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset reads over audit_logs ordered by (timestamp, id) descending, without COUNT(*).
+ * Once the hot table is exhausted the slice continues into the archive, which only holds older entries.
+ */
+@Service
+@Transactional(readOnly = true)
+public class AuditQueryService {
+
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private static final String APPROXIMATE_COUNT_SQL =
+            "SELECT TABLE_ROWS FROM information_schema.TABLES WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs'";
+
+    private final AuditRepository repository;
+    private final AuditArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+
+    public AuditQueryService(AuditRepository repository, AuditArchive archive, JdbcTemplate jdbcTemplate) {
+        this.repository = repository;
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public CursorPage<AuditLog> getSlice(String cursor, int size, String entity, boolean approximateTotal) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        Pageable pageable = PageRequest.of(0, pageSize);
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+        boolean byEntity = entity != null && !entity.isEmpty();
+
+        Slice<AuditLog> slice;
+        if (after == null) {
+            slice = byEntity
+                    ? repository.findNewestByEntity(entity, pageable)
+                    : repository.findNewest(pageable);
+        } else {
+            slice = byEntity
+                    ? repository.findOlderThanByEntity(entity, after.timestamp(), after.id(), pageable)
+                    : repository.findOlderThan(after.timestamp(), after.id(), pageable);
+        }
+
+        List<AuditLog> content = new ArrayList<>(slice.getContent());
+        boolean hasNext = slice.hasNext();
+        if (!hasNext) {
+            KeysetCursor archiveFrom = content.isEmpty()
+                    ? after
+                    : new KeysetCursor(content.get(content.size() - 1).getTimestamp(), content.get(content.size() - 1).getId());
+            int wanted = pageSize - content.size();
+            List<AuditLog> archived = archive.findOlderThan(archiveFrom, byEntity ? entity : null, wanted + 1);
+            hasNext = archived.size() > wanted;
+            content.addAll(archived.subList(0, Math.min(wanted, archived.size())));
+        }
+
+        String nextCursor = null;
+        if (hasNext && !content.isEmpty()) {
+            AuditLog last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+
+        return new CursorPage<>(content, pageSize, hasNext, nextCursor,
+                approximateTotal ? approximateCount() : null);
+    }
+
+    /**
+     * Row estimate from table statistics plus the exact archived count; null when the database does not expose statistics.
+     */
+    public Long approximateCount() {
+        try {
+            Long hot = jdbcTemplate.queryForObject(APPROXIMATE_COUNT_SQL, Long.class);
+            return hot != null ? hot + archive.count() : null;
+        } catch (DataAccessException e) {
+            return null;
+        }
+    }
+
+    public AuditLog getById(String id) {
+        return repository.findById(id)
+                .or(() -> archive.findById(id))
+                .orElseThrow(() -> new RuntimeException("Audit log not found"));
+    }
+}
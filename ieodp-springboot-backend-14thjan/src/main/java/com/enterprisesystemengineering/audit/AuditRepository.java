@@ -2,7 +2,13 @@ package com.enterprisesystemengineering.audit;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 public interface AuditRepository extends JpaRepository<AuditLog, String> {
 
@@ -11,9 +17,59 @@ public interface AuditRepository extends JpaRepository<AuditLog, String> {
             Pageable pageable
     );
 
+    @Query("select a from AuditLog a where lower(a.entity) like lower(concat('%', :query, '%'))"
+            + " or lower(a.action) like lower(concat('%', :query, '%'))"
+            + " or lower(a.userId) like lower(concat('%', :query, '%'))"
+            + " or lower(a.entityId) like lower(concat('%', :query, '%'))")
+    Page<AuditLog> search(
+            @Param("query") String query,
+            Pageable pageable
+    );
+
+    @Query("select a from AuditLog a order by a.timestamp desc, a.id desc")
+    Slice<AuditLog> findNewest(Pageable pageable);
+
+    @Query("select a from AuditLog a"
+            + " where a.timestamp < :timestamp or (a.timestamp = :timestamp and a.id < :id)"
+            + " order by a.timestamp desc, a.id desc")
+    Slice<AuditLog> findOlderThan(
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
+    @Query("select a from AuditLog a where a.entity = :entity order by a.timestamp desc, a.id desc")
+    Slice<AuditLog> findNewestByEntity(
+            @Param("entity") String entity,
+            Pageable pageable
+    );
+
+    @Query("select a from AuditLog a where a.entity = :entity"
+            + " and (a.timestamp < :timestamp or (a.timestamp = :timestamp and a.id < :id))"
+            + " order by a.timestamp desc, a.id desc")
+    Slice<AuditLog> findOlderThanByEntity(
+            @Param("entity") String entity,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") String id,
+            Pageable pageable
+    );
+
     Page<AuditLog> findByUserId(
             String userId,
             Pageable pageable
     );
-}
 
+    List<AuditLog> findByEntityAndEntityIdAndTimestampLessThanEqualOrderByTimestampAscIdAsc(
+            String entity,
+            String entityId,
+            LocalDateTime timestamp
+    );
+
+    @Query("select a from AuditLog a where a.entity = :entity and a.entityId = :entityId"
+            + " order by a.timestamp desc, a.id desc")
+    List<AuditLog> findHistory(
+            @Param("entity") String entity,
+            @Param("entityId") String entityId,
+            Pageable pageable
+    );
+}
@@ -0,0 +1,429 @@
+package com.enterprisesystemengineering.audit;
+
+import com.enterprisesystemengineering.config.StreamingFetchSize;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory trigram index over audit entity, action, userId and entityId.
+ * Kept current from {@link AuditWriter} and rebuilt from audit_logs and the archive on startup.
+ * Archiving does not touch the index, so archived entries stay searchable.
+ * Until the first rebuild finishes the index is cold and callers fall back to SQL; they also fall back for
+ * queries shorter than {@link #MIN_QUERY_LENGTH}, which cannot use the trigrams. An empty query lists the
+ * newest entries. Field values are interned, so an entry costs its id plus references to shared strings.
+ */
+@Component
+public class AuditSearchIndex implements AuditWriteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditSearchIndex.class);
+
+    public static final int MIN_QUERY_LENGTH = 3;
+
+    /**
+     * Removed documents stay in the postings until they are at least this many and a quarter of the index.
+     */
+    private static final int COMPACT_MIN_REMOVED = 1024;
+
+    private static final String REBUILD_SQL =
+            "SELECT id, entity, action, user_id, entity_id FROM audit_logs ORDER BY timestamp, id";
+
+    private final AuditArchive archive;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final boolean enabled;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "audit-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+    private Documents documents = new Documents();
+    private List<AuditLog> addedDuringRebuild;
+    private List<String> removedDuringRebuild;
+    private volatile boolean ready;
+
+    public AuditSearchIndex(
+            AuditArchive archive,
+            DataSource dataSource,
+            StreamingFetchSize streamingFetchSize,
+            @Value("${audit.search.enabled:true}") boolean enabled,
+            @Value("${audit.search.rebuild-fetch-size:5000}") int fetchSize) {
+        this.archive = archive;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(streamingFetchSize.rows(fetchSize));
+        this.enabled = enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (enabled) {
+            requestRebuild();
+        }
+    }
+
+    /**
+     * Runs {@link #rebuild} in the background unless one is already queued or running.
+     *
+     * @return false when a rebuild is already in progress
+     */
+    public boolean requestRebuild() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            rebuildExecutor.execute(() -> {
+                try {
+                    rebuild();
+                } finally {
+                    rebuildPending.set(false);
+                }
+            });
+        } catch (RuntimeException e) {
+            rebuildPending.set(false);
+            throw e;
+        }
+        return true;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Rebuilds the index from audit_logs and the archive. Searches keep using the previous index (or SQL, when cold)
+     * until the new one is swapped in; writes made meanwhile are replayed onto it.
+     * <p>
+     * The table is read before the archive: archiving writes a segment before deleting its rows, so an entry
+     * archived between the two reads is seen at least once and the duplicate is skipped. Table rows are held
+     * until the archive has been added so ordinals stay in timestamp order.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (addedDuringRebuild != null) {
+                return;
+            }
+            addedDuringRebuild = new ArrayList<>();
+            removedDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        long start = System.currentTimeMillis();
+        Documents rebuilt = new Documents();
+        try {
+            List<String[]> hot = new ArrayList<>();
+            streamingJdbcTemplate.query(REBUILD_SQL, rs -> {
+                hot.add(new String[]{rs.getString("id"),
+                        rebuilt.intern(rs.getString("entity")), rebuilt.intern(rs.getString("action")),
+                        rebuilt.intern(rs.getString("user_id")), rebuilt.intern(rs.getString("entity_id"))});
+            });
+            archive.forEach(audit -> rebuilt.add(audit.getId(),
+                    audit.getEntity(), audit.getAction(), audit.getUserId(), audit.getEntityId()));
+            for (String[] row : hot) {
+                rebuilt.add(row[0], row[1], row[2], row[3], row[4]);
+            }
+        } catch (RuntimeException e) {
+            log.error("Audit search index rebuild failed, searches keep using {}", ready ? "the previous index" : "SQL", e);
+            lock.writeLock().lock();
+            try {
+                addedDuringRebuild = null;
+                removedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (AuditLog audit : addedDuringRebuild) {
+                rebuilt.add(audit.getId(), audit.getEntity(), audit.getAction(), audit.getUserId(), audit.getEntityId());
+            }
+            for (String id : removedDuringRebuild) {
+                rebuilt.remove(id);
+            }
+            documents = rebuilt;
+            addedDuringRebuild = null;
+            removedDuringRebuild = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Audit search index rebuilt with {} entries in {} ms",
+                rebuilt.size(), System.currentTimeMillis() - start);
+    }
+
+    @Override
+    public void onWritten(List<AuditLog> audits) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            for (AuditLog audit : audits) {
+                documents.add(audit.getId(), audit.getEntity(), audit.getAction(), audit.getUserId(), audit.getEntityId());
+            }
+            if (addedDuringRebuild != null) {
+                addedDuringRebuild.addAll(audits);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            documents.remove(id);
+            if (removedDuringRebuild != null) {
+                removedDuringRebuild.add(id);
+            }
+            if (documents.needsCompaction()) {
+                documents = documents.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Case-insensitive substring search, newest entries first.
+     * Returns empty when the index is cold or the query is too short for trigrams, so the caller can fall back to SQL.
+     */
+    public Optional<SearchPage> search(String query, int page, int size) {
+        if (!ready || (!query.isEmpty() && query.length() < MIN_QUERY_LENGTH)) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            return Optional.of(documents.search(query.toLowerCase(Locale.ROOT), page, size));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * {@code total} is exact when the page reached the last match; otherwise it counts the unchecked trigram
+     * candidates as matches, an upper bound that is larger than the end of the page.
+     */
+    public record SearchPage(List<String> ids, long total) {
+    }
+
+    /**
+     * Documents are numbered in insertion order, which tracks timestamp order,
+     * so each posting list is sorted and the highest ordinal is the newest entry.
+     */
+    private static final class Documents {
+
+        private final List<String> ids = new ArrayList<>();
+        private final List<String[]> fields = new ArrayList<>();
+        private final Map<String, String> pool = new HashMap<>();
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final BitSet removed = new BitSet();
+        private int removedCount;
+
+        int size() {
+            return ordinals.size();
+        }
+
+        /**
+         * Lower-cased value shared by every document with the same field value.
+         */
+        String intern(String value) {
+            String lower = value == null ? "" : value.toLowerCase(Locale.ROOT);
+            return pool.computeIfAbsent(lower, v -> v);
+        }
+
+        void add(String id, String entity, String action, String userId, String entityId) {
+            if (ordinals.containsKey(id)) {
+                return;
+            }
+            addFields(id, new String[]{intern(entity), intern(action), intern(userId), intern(entityId)});
+        }
+
+        private void addFields(String id, String[] values) {
+            int ordinal = ids.size();
+            ids.add(id);
+            fields.add(values);
+            ordinals.put(id, ordinal);
+
+            for (String value : values) {
+                for (int i = 0; i + 3 <= value.length(); i++) {
+                    postings.computeIfAbsent(trigram(value, i), k -> new Postings()).addIfAbsent(ordinal);
+                }
+            }
+        }
+
+        private boolean matches(int ordinal, String query) {
+            for (String value : fields.get(ordinal)) {
+                if (value.contains(query)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void remove(String id) {
+            Integer ordinal = ordinals.remove(id);
+            if (ordinal != null) {
+                removed.set(ordinal);
+                removedCount++;
+            }
+        }
+
+        boolean needsCompaction() {
+            return removedCount >= COMPACT_MIN_REMOVED && removedCount * 4L >= ids.size();
+        }
+
+        /**
+         * Copy holding only the live documents, renumbered in the same order.
+         */
+        Documents compact() {
+            Documents live = new Documents();
+            for (int ordinal = 0; ordinal < ids.size(); ordinal++) {
+                if (!removed.get(ordinal)) {
+                    live.addFields(ids.get(ordinal), fields.get(ordinal));
+                }
+            }
+            return live;
+        }
+
+        SearchPage search(String query, int page, int size) {
+            if (query.isEmpty()) {
+                return newest(page, size);
+            }
+            Postings candidates = candidates(query);
+            if (candidates == null) {
+                return new SearchPage(List.of(), 0);
+            }
+
+            long from = (long) page * size;
+            long to = from + size;
+            List<String> pageIds = new ArrayList<>(size);
+            long matched = 0;
+
+            // stops at the end of the page, so a common trigram costs no more than the page it fills
+            int i = candidates.size - 1;
+            for (; i >= 0 && matched < to; i--) {
+                int ordinal = candidates.values[i];
+                if (removed.get(ordinal) || !matches(ordinal, query)) {
+                    continue;
+                }
+                if (matched >= from) {
+                    pageIds.add(ids.get(ordinal));
+                }
+                matched++;
+            }
+            return new SearchPage(pageIds, matched + i + 1);
+        }
+
+        /**
+         * Walks down from the newest document only as far as the requested page.
+         */
+        private SearchPage newest(int page, int size) {
+            long skip = (long) page * size;
+            List<String> pageIds = new ArrayList<>(size);
+            for (int ordinal = ids.size() - 1; ordinal >= 0 && pageIds.size() < size; ordinal--) {
+                if (removed.get(ordinal)) {
+                    continue;
+                }
+                if (skip > 0) {
+                    skip--;
+                    continue;
+                }
+                pageIds.add(ids.get(ordinal));
+            }
+            return new SearchPage(pageIds, size());
+        }
+
+        /**
+         * Intersects the posting lists of every trigram in the query, smallest first.
+         */
+        private Postings candidates(String query) {
+            Set<Long> trigrams = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= query.length(); i++) {
+                trigrams.add(trigram(query, i));
+            }
+            List<Postings> lists = new ArrayList<>(trigrams.size());
+            for (Long trigram : trigrams) {
+                Postings list = postings.get(trigram);
+                if (list == null) {
+                    return null;
+                }
+                lists.add(list);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size, b.size));
+
+            Postings result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.size > 0; i++) {
+                result = result.intersect(lists.get(i));
+            }
+            return result;
+        }
+
+        private static long trigram(String text, int offset) {
+            return ((long) text.charAt(offset) << 32) | ((long) text.charAt(offset + 1) << 16) | text.charAt(offset + 2);
+        }
+
+    }
+
+    private static final class Postings {
+
+        private int[] values = new int[4];
+        private int size;
+
+        /**
+         * Ordinals only ever grow, so a repeated trigram within one document is always the last entry.
+         */
+        void addIfAbsent(int ordinal) {
+            if (size > 0 && values[size - 1] == ordinal) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = ordinal;
+        }
+
+        Postings intersect(Postings other) {
+            Postings result = new Postings();
+            result.values = new int[Math.min(size, other.size) + 1];
+            for (int i = 0; i < size; i++) {
+                if (Arrays.binarySearch(other.values, 0, other.size, values[i]) >= 0) {
+                    result.values[result.size++] = values[i];
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.enterprisesystemengineering.audit;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Read side of an archive segment written by {@link AuditSegmentWriter}.
+ * The file is memory-mapped once; only the sparse block index is held on the heap,
+ * and blocks are inflated on demand. A mapping cannot exceed 2 GB, which {@link AuditArchive} keeps segments under.
+ */
+final class AuditSegment implements Closeable {
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer mapped;
+    private final BlockInfo[] blocks;
+    private final long recordCount;
+
+    private AuditSegment(Path file, FileChannel channel, MappedByteBuffer mapped, BlockInfo[] blocks) {
+        this.file = file;
+        this.channel = channel;
+        this.mapped = mapped;
+        this.blocks = blocks;
+        this.recordCount = Arrays.stream(blocks).mapToLong(BlockInfo::recordCount).sum();
+    }
+
+    static AuditSegment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Audit segment larger than 2 GB cannot be mapped: " + file);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int footer = mapped.limit() - AuditSegmentWriter.FOOTER_BYTES;
+            if (footer < 0 || mapped.getInt(footer + Long.BYTES + Integer.BYTES) != AuditSegmentWriter.MAGIC) {
+                throw new IOException("Not an audit segment: " + file);
+            }
+            int indexOffset = Math.toIntExact(mapped.getLong(footer));
+            int blockCount = mapped.getInt(footer + Long.BYTES);
+
+            ByteBuffer index = mapped.slice(indexOffset, footer - indexOffset);
+            BlockInfo[] blocks = new BlockInfo[blockCount];
+            for (int i = 0; i < blockCount; i++) {
+                blocks[i] = new BlockInfo(index.getLong(), index.getInt(), index.getInt(), index.getInt(),
+                        index.getLong(), index.getLong(), readHashes(index), readHashes(index));
+            }
+            return new AuditSegment(file, channel, mapped, blocks);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    Path file() {
+        return file;
+    }
+
+    long recordCount() {
+        return recordCount;
+    }
+
+    int blockCount() {
+        return blocks.length;
+    }
+
+    BlockInfo block(int i) {
+        return blocks[i];
+    }
+
+    long minMicros() {
+        return blocks.length == 0 ? Long.MAX_VALUE : blocks[0].minMicros();
+    }
+
+    long maxMicros() {
+        return blocks.length == 0 ? Long.MIN_VALUE : blocks[blocks.length - 1].maxMicros();
+    }
+
+    /**
+     * Inflates one block into its records, ascending by (timestamp, id).
+     */
+    List<AuditLog> readBlock(int i) {
+        BlockInfo block = blocks[i];
+        byte[] compressed = new byte[block.compressedLength()];
+        mapped.slice(Math.toIntExact(block.offset()), block.compressedLength()).get(compressed);
+
+        byte[] raw = new byte[block.uncompressedLength()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int read = 0;
+            while (read < raw.length && !inflater.finished()) {
+                read += inflater.inflate(raw, read, raw.length - read);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt audit segment block " + i + " in " + file, e);
+        } finally {
+            inflater.end();
+        }
+
+        ByteBuffer in = ByteBuffer.wrap(raw);
+        List<AuditLog> records = new ArrayList<>(block.recordCount());
+        for (int r = 0; r < block.recordCount(); r++) {
+            AuditLog audit = AuditLog.builder()
+                    .id(readString(in))
+                    .userId(readString(in))
+                    .role(readString(in))
+                    .action(readString(in))
+                    .entity(readString(in))
+                    .entityId(readString(in))
+                    .previousState(readString(in))
+                    .newState(readString(in))
+                    .build();
+            String format = readString(in);
+            audit.setStateFormat(format != null ? AuditStateFormat.valueOf(format) : null);
+            audit.setTimestamp(LocalDateTime.ofEpochSecond(in.getLong(), in.getInt(), ZoneOffset.UTC));
+            records.add(audit);
+        }
+        return records;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + timestamp.getNano() / 1_000;
+    }
+
+    static int hash(String value) {
+        return value == null ? 0 : value.hashCode();
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+        in.position(in.position() + length);
+        return value;
+    }
+
+    private static int[] readHashes(ByteBuffer in) {
+        int[] hashes = new int[in.getInt()];
+        for (int i = 0; i < hashes.length; i++) {
+            hashes[i] = in.getInt();
+        }
+        return hashes;
+    }
+
+    record BlockInfo(long offset, int compressedLength, int uncompressedLength, int recordCount,
+                     long minMicros, long maxMicros, int[] entityIdHashes, int[] idHashes) {
+
+        boolean mayContainEntityId(String entityId) {
+            return Arrays.binarySearch(entityIdHashes, hash(entityId)) >= 0;
+        }
+    }
+}
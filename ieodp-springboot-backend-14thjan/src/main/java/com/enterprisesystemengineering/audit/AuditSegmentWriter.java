@@ -0,0 +1,167 @@
+package com.enterprisesystemengineering.audit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one immutable archive segment.
+ * <pre>
+ * [block]*            deflate-compressed records, ascending by (timestamp, id)
+ * [index]             per block: offset, lengths, record count, timestamp range,
+ *                     sorted hashes of entityId and of id
+ * [footer]            index offset (long), block count (int), magic (int)
+ * </pre>
+ * Records must be appended in ascending (timestamp, id) order.
+ */
+final class AuditSegmentWriter implements Closeable {
+
+    static final int MAGIC = 0x41534731; // "ASG1"
+    static final int FOOTER_BYTES = Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    private final FileChannel channel;
+    private final int blockSize;
+    private final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+    private final List<AuditSegment.BlockInfo> blocks = new ArrayList<>();
+
+    private final ByteArrayOutputStream blockBytes = new ByteArrayOutputStream();
+    private final DataOutputStream blockOut = new DataOutputStream(blockBytes);
+    private final List<AuditLog> pending = new ArrayList<>();
+    private long position;
+    private long recordCount;
+
+    AuditSegmentWriter(Path file, int blockSize) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        this.blockSize = blockSize;
+    }
+
+    void append(AuditLog audit) throws IOException {
+        pending.add(audit);
+        if (pending.size() >= blockSize) {
+            writeBlock();
+        }
+    }
+
+    long recordCount() {
+        return recordCount + pending.size();
+    }
+
+    /**
+     * Bytes of completed blocks; grows one block at a time.
+     */
+    long bytesWritten() {
+        return position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            if (!pending.isEmpty()) {
+                writeBlock();
+            }
+            long indexOffset = position;
+            ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+            DataOutputStream indexOut = new DataOutputStream(indexBytes);
+            for (AuditSegment.BlockInfo block : blocks) {
+                indexOut.writeLong(block.offset());
+                indexOut.writeInt(block.compressedLength());
+                indexOut.writeInt(block.uncompressedLength());
+                indexOut.writeInt(block.recordCount());
+                indexOut.writeLong(block.minMicros());
+                indexOut.writeLong(block.maxMicros());
+                writeHashes(indexOut, block.entityIdHashes());
+                writeHashes(indexOut, block.idHashes());
+            }
+            indexOut.writeLong(indexOffset);
+            indexOut.writeInt(blocks.size());
+            indexOut.writeInt(MAGIC);
+            write(indexBytes.toByteArray());
+            channel.force(true);
+        } finally {
+            deflater.end();
+            channel.close();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        blockBytes.reset();
+        int[] entityIdHashes = new int[pending.size()];
+        int[] idHashes = new int[pending.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            AuditLog audit = pending.get(i);
+            writeString(blockOut, audit.getId());
+            writeString(blockOut, audit.getUserId());
+            writeString(blockOut, audit.getRole());
+            writeString(blockOut, audit.getAction());
+            writeString(blockOut, audit.getEntity());
+            writeString(blockOut, audit.getEntityId());
+            writeString(blockOut, audit.getPreviousState());
+            writeString(blockOut, audit.getNewState());
+            writeString(blockOut, audit.getStateFormat() != null ? audit.getStateFormat().name() : null);
+            blockOut.writeLong(audit.getTimestamp().toEpochSecond(ZoneOffset.UTC));
+            blockOut.writeInt(audit.getTimestamp().getNano());
+            entityIdHashes[i] = AuditSegment.hash(audit.getEntityId());
+            idHashes[i] = AuditSegment.hash(audit.getId());
+        }
+        blockOut.flush();
+        byte[] raw = blockBytes.toByteArray();
+
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            compressed.write(chunk, 0, n);
+        }
+        byte[] bytes = compressed.toByteArray();
+
+        blocks.add(new AuditSegment.BlockInfo(position, bytes.length, raw.length, pending.size(),
+                AuditSegment.toMicros(pending.get(0).getTimestamp()),
+                AuditSegment.toMicros(pending.get(pending.size() - 1).getTimestamp()),
+                distinctSorted(entityIdHashes), distinctSorted(idHashes)));
+        write(bytes);
+        recordCount += pending.size();
+        pending.clear();
+    }
+
+    private void write(byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeHashes(DataOutputStream out, int[] hashes) throws IOException {
+        out.writeInt(hashes.length);
+        for (int hash : hashes) {
+            out.writeInt(hash);
+        }
+    }
+
+    private static int[] distinctSorted(int[] values) {
+        return Arrays.stream(values).distinct().sorted().toArray();
+    }
+}
@@ -1,22 +1,36 @@
 package com.enterprisesystemengineering.audit;
 
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.stream.DoubleStream;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class AuditService {
 
-    private final AuditRepository repository;
+    private final AuditWriter writer;
+    private final AuditStateCodec codec;
+    private final AuditStateFormat updateFormat;
 
-    public AuditService(AuditRepository repository) {
-        this.repository = repository;
+    /**
+     * Microseconds of the last timestamp handed out; timestamps are stored with microsecond precision.
+     */
+    private final AtomicLong lastMicros = new AtomicLong();
+
+    public AuditService(
+            AuditWriter writer,
+            AuditStateCodec codec,
+            @Value("${audit.state.update-format:DELTA}") AuditStateFormat updateFormat) {
+        this.writer = writer;
+        this.codec = codec;
+        this.updateFormat = updateFormat;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void log(
             String userId,
             String role,
@@ -26,7 +40,74 @@ public class AuditService {
             String oldState,
             String newState
     ) {
-        AuditLog audit = AuditLog.builder()
+        writer.submit(build(userId, role, action, entity, entityId, oldState, newState, null));
+    }
+
+    /**
+     * Records a newly created entity as a full JSON snapshot.
+     */
+    public void logSnapshot(
+            String userId,
+            String role,
+            String action,
+            String entity,
+            String entityId,
+            Object state
+    ) {
+        writer.submit(snapshot(userId, role, action, entity, entityId, state));
+    }
+
+    /**
+     * Records an update. In DELTA format only the changed fields are stored;
+     * {@code before} must be captured with {@link AuditStateCodec#capture} before the entity was modified.
+     */
+    public void logChange(
+            String userId,
+            String role,
+            String action,
+            String entity,
+            String entityId,
+            ObjectNode before,
+            Object after
+    ) {
+        writer.submit(change(userId, role, action, entity, entityId, before, after));
+    }
+
+    /**
+     * Writes several entries with one batch insert inside the caller's transaction,
+     * so they commit or roll back together with the business rows.
+     */
+    public void logAll(List<AuditLog> audits) {
+        writer.writeNow(audits);
+    }
+
+    /**
+     * Builds a snapshot entry for {@link #logAll}.
+     */
+    public AuditLog snapshot(String userId, String role, String action, String entity, String entityId, Object state) {
+        return build(userId, role, action, entity, entityId,
+                null, codec.write(codec.capture(state)), AuditStateFormat.SNAPSHOT);
+    }
+
+    /**
+     * Builds a change entry for {@link #logAll}.
+     */
+    public AuditLog change(String userId, String role, String action, String entity, String entityId,
+                    ObjectNode before, Object after) {
+        ObjectNode afterTree = codec.capture(after);
+        if (updateFormat == AuditStateFormat.SNAPSHOT) {
+            return build(userId, role, action, entity, entityId,
+                    codec.write(before), codec.write(afterTree), AuditStateFormat.SNAPSHOT);
+        }
+        AuditStateCodec.Delta delta = codec.diff(before, afterTree);
+        return build(userId, role, action, entity, entityId,
+                codec.write(delta.previous()), codec.write(delta.next()), AuditStateFormat.DELTA);
+    }
+
+    private AuditLog build(String userId, String role, String action, String entity, String entityId,
+                           String oldState, String newState, AuditStateFormat format) {
+        return AuditLog.builder()
+                .id(UUID.randomUUID().toString())
                 .userId(userId)
                 .role(role)
                 .action(action)
@@ -34,10 +115,19 @@ public class AuditService {
                 .entityId(entityId)
                 .previousState(oldState)
                 .newState(newState)
-                .timestamp(LocalDateTime.now())
+                .stateFormat(format)
+                .timestamp(nextTimestamp())
                 .build();
+    }
 
-        repository.save(audit);
+    /**
+     * Strictly increasing across this instance, so (timestamp, id) order is the order entries were built in
+     * even when several land in the same clock tick; ids only break ties between instances.
+     */
+    LocalDateTime nextTimestamp() {
+        long now = AuditSegment.toMicros(LocalDateTime.now());
+        long micros = lastMicros.updateAndGet(last -> Math.max(last + 1, now));
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
     }
 }
-
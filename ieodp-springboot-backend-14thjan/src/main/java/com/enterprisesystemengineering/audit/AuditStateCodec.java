@@ -0,0 +1,95 @@
+package com.enterprisesystemengineering.audit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Converts entities to JSON audit states and computes / applies field-level deltas.
+ */
+@Component
+public class AuditStateCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public AuditStateCodec(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Captures the entity as a detached JSON tree, so later mutations of the entity do not leak into it.
+     */
+    public ObjectNode capture(Object entity) {
+        return objectMapper.valueToTree(entity);
+    }
+
+    public String write(JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize audit state", e);
+        }
+    }
+
+    /**
+     * Parses a stored state, or returns null when the row predates structured states.
+     */
+    public ObjectNode read(String state) {
+        if (state == null || state.isEmpty() || state.charAt(0) != '{') {
+            return null;
+        }
+        try {
+            return (ObjectNode) objectMapper.readTree(state);
+        } catch (JsonProcessingException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the fields whose values differ, as {previous, next}. Both objects are empty when nothing changed.
+     */
+    public Delta diff(ObjectNode before, ObjectNode after) {
+        ObjectNode previous = JsonNodeFactory.instance.objectNode();
+        ObjectNode next = JsonNodeFactory.instance.objectNode();
+
+        Iterator<Map.Entry<String, JsonNode>> afterFields = after.fields();
+        while (afterFields.hasNext()) {
+            Map.Entry<String, JsonNode> field = afterFields.next();
+            JsonNode old = before.get(field.getKey());
+            if (old == null || !old.equals(field.getValue())) {
+                previous.set(field.getKey(), old != null ? old : NullNode.getInstance());
+                next.set(field.getKey(), field.getValue());
+            }
+        }
+        Iterator<String> beforeNames = before.fieldNames();
+        while (beforeNames.hasNext()) {
+            String name = beforeNames.next();
+            if (!after.has(name)) {
+                previous.set(name, before.get(name));
+                next.set(name, NullNode.getInstance());
+            }
+        }
+        return new Delta(previous, next);
+    }
+
+    /**
+     * Applies a delta's changed fields onto a state in place.
+     */
+    public void apply(ObjectNode state, ObjectNode delta) {
+        state.setAll(delta);
+    }
+
+    public record Delta(ObjectNode previous, ObjectNode next) {
+
+        public boolean isEmpty() {
+            return next.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.enterprisesystemengineering.audit;
+
+/**
+ * Layout of {@link AuditLog#getPreviousState()} / {@link AuditLog#getNewState()}.
+ * Rows written before structured states existed have no format and hold free text.
+ */
+public enum AuditStateFormat {
+
+    /**
+     * newState holds the full entity as JSON.
+     */
+    SNAPSHOT,
+
+    /**
+     * previousState and newState hold only the fields that changed, as JSON objects.
+     */
+    DELTA
+}
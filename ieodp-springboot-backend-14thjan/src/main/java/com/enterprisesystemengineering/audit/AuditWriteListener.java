@@ -0,0 +1,11 @@
+package com.enterprisesystemengineering.audit;
+
+import java.util.List;
+
+/**
+ * Notified by {@link AuditWriter} once a batch of audit rows has been committed.
+ */
+public interface AuditWriteListener {
+
+    void onWritten(List<AuditLog> audits);
+}
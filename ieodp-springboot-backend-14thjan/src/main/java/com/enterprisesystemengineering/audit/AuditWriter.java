@@ -0,0 +1,320 @@
+package com.enterprisesystemengineering.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded queue in front of the audit_logs table.
+ * A single flusher thread drains the queue and writes each batch with one JDBC batch insert
+ * and one commit, so business transactions no longer pay for a second connection per audit row.
+ * Entries submitted inside a transaction are only queued once it commits, so a rolled-back change
+ * leaves no audit row and the caller never waits for the flusher while holding its connection.
+ */
+@Component
+public class AuditWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditWriter.class);
+
+    static final String INSERT_SQL =
+            "INSERT INTO audit_logs (id, user_id, role, action, entity, entity_id, previous_state, new_state, state_format, timestamp) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectProvider<AuditWriteListener> listeners;
+    private final TransactionTemplate flushTransaction;
+    private final BlockingQueue<PendingAudit> queue;
+    private final AuditDurability mode;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+
+    private final Timer flushLatency;
+    private final DistributionSummary flushBatchSize;
+    private final Counter callerRuns;
+    private final Counter failedEntries;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public AuditWriter(
+            JdbcTemplate jdbcTemplate,
+            ObjectProvider<AuditWriteListener> listeners,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${audit.writer.mode:FIRE_AND_FORGET}") AuditDurability mode,
+            @Value("${audit.writer.queue-capacity:10000}") int queueCapacity,
+            @Value("${audit.writer.flush-size:500}") int flushSize,
+            @Value("${audit.writer.flush-interval-ms:20}") long flushIntervalMs,
+            @Value("${audit.writer.offer-timeout-ms:50}") long offerTimeoutMs,
+            @Value("${audit.writer.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.listeners = listeners;
+        this.flushTransaction = new TransactionTemplate(transactionManager);
+        this.flushTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.mode = mode;
+        this.flushSize = flushSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        Gauge.builder("audit.writer.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be flushed")
+                .register(meterRegistry);
+        this.flushLatency = Timer.builder("audit.writer.flush.latency")
+                .description("Time to write and commit one audit batch")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.flushBatchSize = DistributionSummary.builder("audit.writer.flush.size")
+                .description("Audit entries per flushed batch")
+                .register(meterRegistry);
+        this.callerRuns = Counter.builder("audit.writer.caller.runs")
+                .description("Audit entries written on the caller thread because the queue was full")
+                .register(meterRegistry);
+        this.failedEntries = Counter.builder("audit.writer.failed")
+                .description("Audit entries that could not be written")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hands an audit entry to the pipeline according to the configured durability mode.
+     * In FIRE_AND_FORGET mode the entry is queued when the caller's transaction commits (at once without one)
+     * and dropped when it rolls back. When the queue stays full for longer than the offer timeout, the entry is
+     * written on the submitting thread in its own transaction, which slows producers down rather than dropping
+     * audit rows.
+     * <p>
+     * Only SYNC_COMMIT lets a write failure reach the caller. Otherwise a failed flush is logged and counted,
+     * never thrown, so it cannot fail the business write it describes; the returned future completes when the
+     * entry is committed, exceptionally when it could not be written, and is cancelled on rollback.
+     */
+    public CompletableFuture<Void> submit(AuditLog audit) {
+        if (mode == AuditDurability.SYNC_COMMIT || !running) {
+            writeNow(List.of(audit));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        PendingAudit pending = new PendingAudit(audit, new CompletableFuture<>());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        enqueue(pending);
+                    } else {
+                        pending.ack().cancel(false);
+                    }
+                }
+            });
+        } else {
+            enqueue(pending);
+        }
+        return pending.ack();
+    }
+
+    private void enqueue(PendingAudit pending) {
+        if (!running) {
+            flush(List.of(pending));
+            return;
+        }
+        boolean queued;
+        try {
+            queued = queue.offer(pending, offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            queued = false;
+        }
+        if (!queued) {
+            callerRuns.increment();
+            // in its own transaction: the caller's, if any, has already completed
+            flush(List.of(pending));
+        }
+    }
+
+    /**
+     * Writes entries immediately with one batch insert on the caller's thread.
+     * Joins the caller's transaction when one is active; listeners are notified after it commits.
+     */
+    public void writeNow(List<AuditLog> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, audits, audits.size(), (ps, audit) -> {
+            ps.setString(1, audit.getId());
+            ps.setString(2, audit.getUserId());
+            ps.setString(3, audit.getRole());
+            ps.setString(4, audit.getAction());
+            ps.setString(5, audit.getEntity());
+            ps.setString(6, audit.getEntityId());
+            ps.setString(7, audit.getPreviousState());
+            ps.setString(8, audit.getNewState());
+            ps.setString(9, audit.getStateFormat() != null ? audit.getStateFormat().name() : null);
+            ps.setObject(10, audit.getTimestamp());
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    notifyListeners(audits);
+                }
+            });
+        } else {
+            notifyListeners(audits);
+        }
+    }
+
+    private void notifyListeners(List<AuditLog> audits) {
+        listeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onWritten(audits);
+            } catch (RuntimeException e) {
+                log.warn("Audit write listener {} failed", listener.getClass().getSimpleName(), e);
+            }
+        });
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    private void runFlusher() {
+        List<PendingAudit> batch = new ArrayList<>(flushSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingAudit first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < flushSize) {
+                    queue.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    PendingAudit next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts only after the drain deadline; whatever is left is written below
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+
+        List<PendingAudit> leftovers = new ArrayList<>();
+        queue.drainTo(leftovers);
+        if (!leftovers.isEmpty()) {
+            flush(leftovers);
+        }
+    }
+
+    private void flush(List<PendingAudit> batch) {
+        List<AuditLog> audits = new ArrayList<>(batch.size());
+        for (PendingAudit pending : batch) {
+            audits.add(pending.audit());
+        }
+
+        long start = System.nanoTime();
+        try {
+            flushTransaction.executeWithoutResult(status -> writeNow(audits));
+            flushLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            flushBatchSize.record(audits.size());
+            for (PendingAudit pending : batch) {
+                pending.ack().complete(null);
+            }
+        } catch (RuntimeException e) {
+            failedEntries.increment(audits.size());
+            log.error("Failed to flush {} audit entries", audits.size(), e);
+            for (PendingAudit pending : batch) {
+                log.error("Unwritten audit entry: {}", pending.audit());
+                pending.ack().completeExceptionally(e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlusher, "audit-flusher");
+        flusher.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            flusher.join(shutdownTimeoutMs);
+            if (flusher.isAlive()) {
+                log.warn("Audit flusher did not drain within {} ms, {} entries still queued",
+                        shutdownTimeoutMs, queue.size());
+                flusher.interrupt();
+                flusher.join(shutdownTimeoutMs);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // entries offered while the flusher was exiting
+        List<PendingAudit> stragglers = new ArrayList<>();
+        queue.drainTo(stragglers);
+        if (!stragglers.isEmpty()) {
+            flush(stragglers);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Stops after the web server so in-flight requests can still enqueue their audit entries,
+     * and before the DataSource is closed.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private record PendingAudit(AuditLog audit, CompletableFuture<Void> ack) {
+    }
+}
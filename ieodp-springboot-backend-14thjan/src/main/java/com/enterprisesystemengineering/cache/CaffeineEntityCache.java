@@ -0,0 +1,51 @@
+package com.enterprisesystemengineering.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Local, per-instance cache. Loads go through {@link Cache#get} so an eviction that races a load waits for it
+ * and then removes the loaded value; a stale row read just before a commit therefore never outlives it.
+ * Missing ids are not cached. Every read returns its own copy, so a caller mutating the entity it got
+ * (e.g. before saving it) cannot change what other requests read from the cache.
+ */
+class CaffeineEntityCache<T> implements EntityCache<T> {
+
+    private final Cache<String, T> cache;
+    private final Function<String, Optional<T>> loader;
+    private final UnaryOperator<T> copier;
+
+    CaffeineEntityCache(String region, Function<String, Optional<T>> loader, UnaryOperator<T> copier,
+                        long maxSize, long ttlSeconds, MeterRegistry meterRegistry) {
+        this.loader = loader;
+        this.copier = copier;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, region);
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(id, key -> loader.apply(key).orElse(null))).map(copier);
+    }
+
+    @Override
+    public void evict(String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+}
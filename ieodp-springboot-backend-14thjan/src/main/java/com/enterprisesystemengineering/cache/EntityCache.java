@@ -0,0 +1,14 @@
+package com.enterprisesystemengineering.cache;
+
+import java.util.Optional;
+
+/**
+ * Read-through lookup by id for one entity type.
+ * Writers never call this directly; {@link EntityCacheInvalidator} evicts entries once a change has committed.
+ */
+public interface EntityCache<T> {
+
+    Optional<T> findById(String id);
+
+    void evict(String id);
+}
@@ -0,0 +1,87 @@
+package com.enterprisesystemengineering.cache;
+
+import com.enterprisesystemengineering.aiinsight.AiInsight;
+import com.enterprisesystemengineering.aiinsight.AiInsightRepository;
+import com.enterprisesystemengineering.task.Task;
+import com.enterprisesystemengineering.task.TaskRepository;
+import com.enterprisesystemengineering.workflow.Workflow;
+import com.enterprisesystemengineering.workflow.WorkflowRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Entity caches for the hot detail lookups. {@code entity.cache.backend} picks the implementation:
+ * {@code caffeine} (default) keeps a bounded local cache per region, {@code hibernate} uses the
+ * second-level cache regions declared on the entities and needs
+ * {@code spring.jpa.properties.hibernate.cache.use_second_level_cache=true}.
+ */
+@Configuration
+public class EntityCacheConfig {
+
+    public static final String WORKFLOWS = "workflows";
+    public static final String TASKS = "tasks";
+    public static final String AI_INSIGHTS = "aiInsights";
+
+    private final String backend;
+    private final boolean secondLevelEnabled;
+    private final String cachingProvider;
+    private final long maxSize;
+    private final long ttlSeconds;
+    private final MeterRegistry meterRegistry;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EntityCacheConfig(
+            MeterRegistry meterRegistry,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${entity.cache.backend:caffeine}") String backend,
+            @Value("${spring.jpa.properties.hibernate.cache.use_second_level_cache:false}") boolean secondLevelEnabled,
+            @Value("${spring.jpa.properties.hibernate.javax.cache.provider:com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider}") String cachingProvider,
+            @Value("${entity.cache.max-size:10000}") long maxSize,
+            @Value("${entity.cache.ttl-seconds:60}") long ttlSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.entityManagerFactory = entityManagerFactory;
+        this.backend = backend.trim().toLowerCase();
+        this.secondLevelEnabled = secondLevelEnabled;
+        this.cachingProvider = cachingProvider;
+        this.maxSize = maxSize;
+        this.ttlSeconds = ttlSeconds;
+
+        if (!this.backend.equals("caffeine") && !this.backend.equals("hibernate")) {
+            throw new IllegalStateException("entity.cache.backend must be caffeine or hibernate, was " + backend);
+        }
+        if (this.backend.equals("hibernate") && !secondLevelEnabled) {
+            throw new IllegalStateException(
+                    "entity.cache.backend=hibernate requires hibernate.cache.use_second_level_cache=true");
+        }
+    }
+
+    @Bean
+    public EntityCache<Workflow> workflowCache(WorkflowRepository repository) {
+        return create(WORKFLOWS, Workflow.class, repository::findById, workflow -> workflow.toBuilder().build());
+    }
+
+    @Bean
+    public EntityCache<Task> taskCache(TaskRepository repository) {
+        return create(TASKS, Task.class, repository::findById, task -> task.toBuilder().build());
+    }
+
+    @Bean
+    public EntityCache<AiInsight> aiInsightCache(AiInsightRepository repository) {
+        return create(AI_INSIGHTS, AiInsight.class, repository::findById, insight -> insight.toBuilder().build());
+    }
+
+    private <T> EntityCache<T> create(String region, Class<T> type, Function<String, Optional<T>> loader,
+                                      UnaryOperator<T> copier) {
+        if (backend.equals("hibernate")) {
+            return new SecondLevelEntityCache<>(region, type, loader, entityManagerFactory, cachingProvider, meterRegistry);
+        }
+        return new CaffeineEntityCache<>(region, loader, copier, maxSize, ttlSeconds, meterRegistry);
+    }
+}
@@ -0,0 +1,44 @@
+package com.enterprisesystemengineering.cache;
+
+import com.enterprisesystemengineering.aiinsight.AiInsight;
+import com.enterprisesystemengineering.aiinsight.AiInsightChangedEvent;
+import com.enterprisesystemengineering.task.Task;
+import com.enterprisesystemengineering.task.TaskChangedEvent;
+import com.enterprisesystemengineering.workflow.Workflow;
+import com.enterprisesystemengineering.workflow.WorkflowChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts cached entities once the change that touched them has committed, so a concurrent reader cannot
+ * re-cache the old row after the eviction. Every service write path publishes one of these events.
+ */
+@Component
+public class EntityCacheInvalidator {
+
+    private final EntityCache<Workflow> workflowCache;
+    private final EntityCache<Task> taskCache;
+    private final EntityCache<AiInsight> aiInsightCache;
+
+    public EntityCacheInvalidator(EntityCache<Workflow> workflowCache, EntityCache<Task> taskCache,
+                                  EntityCache<AiInsight> aiInsightCache) {
+        this.workflowCache = workflowCache;
+        this.taskCache = taskCache;
+        this.aiInsightCache = aiInsightCache;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        workflowCache.evict(event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        taskCache.evict(event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAiInsightChanged(AiInsightChangedEvent event) {
+        aiInsightCache.evict(event.id());
+    }
+}
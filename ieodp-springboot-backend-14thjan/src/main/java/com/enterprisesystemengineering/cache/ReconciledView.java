@@ -0,0 +1,114 @@
+package com.enterprisesystemengineering.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory structure derived from the database, kept current from committed change events and
+ * rebuilt from a query: once at startup (or on first read) and then on a schedule.
+ * <p>
+ * Changes that arrive while a rebuild's query runs go to the live structure and are also buffered;
+ * the buffer is replayed onto the rebuilt structure before it is swapped in, so a rebuild is never
+ * discarded under load and no change is lost in the swap. A change whose transaction committed just
+ * before the query may be both seen by the query and replayed, so changes must be idempotent: set
+ * add/remove, or replacing an entity's state by id as the status counters do.
+ */
+public final class ReconciledView<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciledView.class);
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+
+    private volatile T current;
+    private volatile boolean seeded;
+    private Queue<Consumer<T>> changedDuringRebuild;
+
+    /**
+     * @param empty  structure that takes changes until the first rebuild completes
+     * @param loader builds a complete structure from the database
+     */
+    public ReconciledView(String name, T empty, Supplier<T> loader) {
+        this.name = name;
+        this.current = empty;
+        this.loader = loader;
+    }
+
+    /**
+     * Applies one committed change to the live structure, and to the one being rebuilt when a rebuild runs.
+     */
+    public void apply(Consumer<T> change) {
+        lock.readLock().lock();
+        try {
+            change.accept(current);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The live structure, seeded first if startup has not done so yet.
+     */
+    public T get() {
+        seed();
+        return current;
+    }
+
+    /**
+     * Initial load; a no-op once any rebuild has completed.
+     */
+    public void seed() {
+        if (!seeded) {
+            synchronized (rebuildLock) {
+                if (!seeded) {
+                    rebuild();
+                }
+            }
+        }
+    }
+
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            Queue<Consumer<T>> buffered = new ConcurrentLinkedQueue<>();
+            swapBuffer(buffered);
+            T rebuilt;
+            try {
+                rebuilt = loader.get();
+            } catch (RuntimeException e) {
+                swapBuffer(null);
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                buffered.forEach(change -> change.accept(rebuilt));
+                current = rebuilt;
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            seeded = true;
+            log.debug("Rebuilt {}, replayed {} changes that arrived during the query", name, buffered.size());
+        }
+    }
+
+    private void swapBuffer(Queue<Consumer<T>> buffer) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = buffer;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
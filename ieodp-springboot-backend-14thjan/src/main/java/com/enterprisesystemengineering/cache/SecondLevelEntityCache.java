@@ -0,0 +1,57 @@
+package com.enterprisesystemengineering.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.cache.Cache;
+import javax.cache.Caching;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Delegates to the Hibernate second-level cache, which is shared by every {@code findById} and kept current
+ * by Hibernate itself on entity writes and bulk updates. Evicting here only matters for changes made outside
+ * this persistence unit. Metrics come from the JCache region backing the entity. Hibernate assembles a new
+ * instance from the cached state for every load, so callers never share an entity.
+ */
+class SecondLevelEntityCache<T> implements EntityCache<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(SecondLevelEntityCache.class);
+
+    private final Class<T> entityType;
+    private final Function<String, Optional<T>> loader;
+    private final EntityManagerFactory entityManagerFactory;
+
+    SecondLevelEntityCache(String region, Class<T> entityType, Function<String, Optional<T>> loader,
+                           EntityManagerFactory entityManagerFactory, String cachingProvider,
+                           MeterRegistry meterRegistry) {
+        this.entityType = entityType;
+        this.loader = loader;
+        this.entityManagerFactory = entityManagerFactory;
+
+        Cache<Object, Object> jcache = Caching.getCachingProvider(cachingProvider).getCacheManager().getCache(region);
+        if (jcache != null) {
+            JCacheMetrics.monitor(meterRegistry, jcache);
+        } else {
+            log.warn("No second-level cache region '{}', metrics disabled for it", region);
+        }
+    }
+
+    @Override
+    public Optional<T> findById(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return loader.apply(id);
+    }
+
+    @Override
+    public void evict(String id) {
+        if (id != null) {
+            entityManagerFactory.getCache().evict(entityType, id);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.enterprisesystemengineering.cache;
+
+import com.enterprisesystemengineering.aiinsight.AiInsightChangedEvent;
+import com.enterprisesystemengineering.service.ApprovalChangedEvent;
+import com.enterprisesystemengineering.task.TaskChangedEvent;
+import com.enterprisesystemengineering.workflow.WorkflowChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Version stamps for strong ETags on polled GET endpoints.
+ * Every committed change takes the next value of one sequence and stores it as the stamp of its collection
+ * and of the entity, so a client's If-None-Match can be answered with 304 before any query runs.
+ * Stamps are bumped after commit; the controller reads the stamp before querying, so a response is never
+ * tagged newer than the data it carries.
+ * <p>
+ * Stamps are per instance. The ETag carries an instance id so tags never match on another replica, and
+ * with {@code http.etag.max-stale-ms} it also carries a time bucket, which bounds how long a replica that
+ * did not see a write keeps answering 304.
+ */
+@Component
+public class VersionStamps {
+
+    public static final String WORKFLOWS = "workflows";
+    public static final String TASKS = "tasks";
+    public static final String AI_INSIGHTS = "aiInsights";
+    public static final String APPROVALS = "approvals";
+
+    private final String instance = Long.toHexString(UUID.randomUUID().getMostSignificantBits() & 0xffffffffL);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<String, AtomicLong> collections = new ConcurrentHashMap<>();
+    private final Cache<String, Long> entities;
+    private final long maxStaleMs;
+
+    public VersionStamps(
+            @Value("${http.etag.max-entities:100000}") long maxEntities,
+            @Value("${http.etag.max-stale-ms:0}") long maxStaleMs) {
+        this.entities = Caffeine.newBuilder().maximumSize(maxEntities).build();
+        this.maxStaleMs = maxStaleMs;
+    }
+
+    public String collectionTag(String collection) {
+        return tag(collectionStamp(collection));
+    }
+
+    /**
+     * An entity whose stamp was evicted falls back to its collection's stamp, which is never older.
+     */
+    public String entityTag(String collection, Object id) {
+        Long stamp = entities.getIfPresent(collection + ':' + id);
+        return tag(stamp != null ? stamp : collectionStamp(collection));
+    }
+
+    /**
+     * 304 when If-None-Match matches {@code etag}, otherwise 200 with the body from {@code query}.
+     * The query only runs on a miss.
+     */
+    public <T> ResponseEntity<T> respond(String ifNoneMatch, String etag, Supplier<T> query) {
+        if (matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(query.get());
+    }
+
+    /**
+     * Like {@link #respond}, with 404 when the query finds nothing.
+     */
+    public <T> ResponseEntity<T> respondIfPresent(String ifNoneMatch, String etag, Supplier<Optional<T>> query) {
+        if (matches(ifNoneMatch, etag)) {
+            return respond(ifNoneMatch, etag, () -> null);
+        }
+        return query.get()
+                .map(body -> respond(null, etag, () -> body))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        bump(WORKFLOWS, event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        bump(TASKS, event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAiInsightChanged(AiInsightChangedEvent event) {
+        bump(AI_INSIGHTS, event.id());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        bump(APPROVALS, event.id());
+    }
+
+    private void bump(String collection, Object id) {
+        long stamp = sequence.incrementAndGet();
+        entities.put(collection + ':' + id, stamp);
+        collections.computeIfAbsent(collection, c -> new AtomicLong()).accumulateAndGet(stamp, Math::max);
+    }
+
+    private long collectionStamp(String collection) {
+        AtomicLong stamp = collections.get(collection);
+        return stamp != null ? stamp.get() : 0L;
+    }
+
+    private String tag(long stamp) {
+        StringBuilder tag = new StringBuilder(32).append('"').append(instance).append('-');
+        if (maxStaleMs > 0) {
+            tag.append(Long.toHexString(System.currentTimeMillis() / maxStaleMs)).append('-');
+        }
+        return tag.append(Long.toHexString(stamp)).append('"').toString();
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isEmpty()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
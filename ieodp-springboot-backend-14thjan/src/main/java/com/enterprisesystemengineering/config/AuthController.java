@@ -3,8 +3,12 @@ package com.enterprisesystemengineering.config;
 import com.enterprisesystemengineering.entity.User;
 import com.enterprisesystemengineering.repository.UserRepository;
 import com.enterprisesystemengineering.enums.UserRole;
+import com.enterprisesystemengineering.security.PasswordHashingExecutor;
+import com.enterprisesystemengineering.security.TokenRevocationStore;
+import com.enterprisesystemengineering.service.UserCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -16,14 +20,20 @@ public class AuthController {
 
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashing;
+    private final TokenRevocationStore revocationStore;
+    private final UserCache userCache;
 
     public AuthController(JwtUtil jwtUtil,
                           UserRepository userRepository,
-                          PasswordEncoder passwordEncoder) {
+                          PasswordHashingExecutor passwordHashing,
+                          TokenRevocationStore revocationStore,
+                          UserCache userCache) {
         this.jwtUtil = jwtUtil;
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
+        this.revocationStore = revocationStore;
+        this.userCache = userCache;
     }
 
     /**
@@ -44,12 +54,18 @@ public class AuthController {
             return ResponseEntity.ok(new LoginResponse(token, "MANAGEMENT"));
         }
 
-        User user = userRepository.findByEmail(request.getEmail())
+        User user = userCache.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("Invalid credentials"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        PasswordHashingExecutor.Verification verification =
+                passwordHashing.verify(request.getPassword(), user.getPassword());
+        if (!verification.matched()) {
             throw new RuntimeException("Invalid credentials");
         }
+        if (verification.upgradedHash() != null) {
+            user.setPassword(verification.upgradedHash());
+            userCache.put(userRepository.save(user));
+        }
 
         String token = jwtUtil.generateToken(
                 user.getId().toString(),
@@ -67,25 +83,38 @@ public class AuthController {
     public ResponseEntity<User> register(@RequestBody User user) {
 
         // basic safety
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
+        if (userCache.findByEmail(user.getEmail()).isPresent()) {
             throw new RuntimeException("Email already registered");
         }
 
         // encode password
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+        user.setPassword(passwordHashing.encode(user.getPassword()));
 
         // default role
         user.setRole(UserRole.USER);
 
-        User savedUser = userRepository.save(user);
+        User savedUser = userCache.put(userRepository.save(user));
         return ResponseEntity.ok(savedUser);
     }
 
     /**
      * POST /api/logout
+     * Revokes the bearer token until it expires.
      */
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, Object>> logout() {
+    public ResponseEntity<Map<String, Object>> logout(
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            String token = authHeader.substring(7);
+            try {
+                Claims claims = jwtUtil.validateToken(token);
+                revocationStore.revoke(token, claims.getExpiration().toInstant());
+            } catch (JwtException | IllegalArgumentException e) {
+                // invalid or expired tokens are already unusable
+            }
+        }
+
         Map<String, Object> response = new HashMap<>();
         response.put("success", true);
         response.put("message", "Logged out successfully");
@@ -1,5 +1,6 @@
 package com.enterprisesystemengineering.config;
 
+import com.enterprisesystemengineering.security.TokenRevocationStore;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
@@ -19,9 +20,11 @@ import java.util.List;
 public class JwtFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
+    private final TokenRevocationStore revocationStore;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, TokenRevocationStore revocationStore) {
         this.jwtUtil = jwtUtil;
+        this.revocationStore = revocationStore;
     }
 
     @Override
@@ -46,6 +49,13 @@ public class JwtFilter extends OncePerRequestFilter {
 
             String token = authHeader.substring(7);
 
+            if (revocationStore.isRevoked(token)) {
+                SecurityContextHolder.clearContext();
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.getWriter().write("Token has been revoked");
+                return;
+            }
+
             try {
                 Claims claims = jwtUtil.validateToken(token);
 
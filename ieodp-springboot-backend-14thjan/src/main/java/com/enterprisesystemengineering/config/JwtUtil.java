@@ -1,26 +1,23 @@
 package com.enterprisesystemengineering.config;
 
+import com.enterprisesystemengineering.security.TokenVerifier;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
 
-    @Value("${jwt.secret:IEODP_SECRET_KEY_CHANGE_IN_PRODUCTION_123456}")
-    private String secretKey;
-
     @Value("${jwt.expiration:3600000}")
     private long expirationTime;
 
-    private SecretKey getKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes(StandardCharsets.UTF_8));
+    private final TokenVerifier verifier;
+
+    public JwtUtil(TokenVerifier verifier) {
+        this.verifier = verifier;
     }
 
     public String generateToken(String userId, String email, String role) {
@@ -31,16 +28,11 @@ public class JwtUtil {
                 .claim("role", role)
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + expirationTime))
-                .signWith(getKey())
+                .signWith(verifier.getKey())
                 .compact();
     }
 
     public Claims validateToken(String token) {
-
-        return Jwts.parserBuilder()
-                .setSigningKey(getKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return verifier.verify(token);
     }
 }
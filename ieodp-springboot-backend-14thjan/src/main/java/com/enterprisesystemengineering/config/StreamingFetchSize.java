@@ -0,0 +1,38 @@
+package com.enterprisesystemengineering.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/**
+ * JDBC fetch size for the few statements that stream large result sets (exports, audit archiving,
+ * search index rebuilds). MySQL Connector/J buffers the whole result unless the statement's fetch size
+ * is {@link Integer#MIN_VALUE}, so on MySQL those statements stream row by row; other databases get the
+ * requested row count. Only the statements that ask for it are affected, not the whole pool.
+ */
+@Component
+public class StreamingFetchSize {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingFetchSize.class);
+
+    private final boolean mysql;
+
+    public StreamingFetchSize(DataSource dataSource) {
+        String product = null;
+        try {
+            product = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        } catch (MetaDataAccessException e) {
+            log.warn("Could not detect the database product, streamed queries use plain fetch sizes", e);
+        }
+        this.mysql = "MySQL".equalsIgnoreCase(product);
+    }
+
+    public int rows(int rows) {
+        return mysql ? Integer.MIN_VALUE : rows;
+    }
+}
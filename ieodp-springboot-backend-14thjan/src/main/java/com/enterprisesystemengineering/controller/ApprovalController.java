@@ -1,10 +1,16 @@
 package com.enterprisesystemengineering.controller;
 
+import com.enterprisesystemengineering.cache.VersionStamps;
+import com.enterprisesystemengineering.dto.ApprovalDecision;
+import com.enterprisesystemengineering.dto.BatchItemResult;
 import com.enterprisesystemengineering.entity.Approval;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
 import com.enterprisesystemengineering.service.ApprovalService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Map;
@@ -17,22 +23,28 @@ import java.util.Map;
 @RequestMapping("/approvals")
 public class ApprovalController {
     
+    private static final int MAX_NEXT_PENDING = 200;
+    
     private final ApprovalService approvalService;
+    private final VersionStamps versionStamps;
     
-    public ApprovalController(ApprovalService approvalService) {
+    public ApprovalController(ApprovalService approvalService, VersionStamps versionStamps) {
         this.approvalService = approvalService;
+        this.versionStamps = versionStamps;
     }
     
     /**
      * GET /approvals - Get all pending approvals
      * Can be called by React frontend with Authorization header
+     * Answers 304 without querying when If-None-Match carries the current ETag
      */
     @GetMapping
     public ResponseEntity<List<Approval>> getApprovals(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         // Authorization header is optional - validate if needed
-        List<Approval> approvals = approvalService.getAllApprovals();
-        return ResponseEntity.ok(approvals);
+        return versionStamps.respond(ifNoneMatch, versionStamps.collectionTag(VersionStamps.APPROVALS),
+                approvalService::getAllApprovals);
     }
     
     /**
@@ -40,9 +52,24 @@ public class ApprovalController {
      */
     @GetMapping("/pending")
     public ResponseEntity<List<Approval>> getPendingApprovals(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        List<Approval> approvals = approvalService.getPendingApprovals();
-        return ResponseEntity.ok(approvals);
+        return versionStamps.respond(ifNoneMatch, versionStamps.collectionTag(VersionStamps.APPROVALS),
+                approvalService::getPendingApprovals);
+    }
+    
+    /**
+     * GET /approvals/pending/next?n=10 - The caller's next N pending approvals, highest priority and oldest first
+     * Served from the in-memory per-assignee queue; X-Total-Count carries the caller's queue size
+     */
+    @GetMapping("/pending/next")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<Approval>> getNextPendingApprovals(
+            @RequestParam(defaultValue = "10") int n) {
+        int limit = Math.max(1, Math.min(n, MAX_NEXT_PENDING));
+        return ResponseEntity.ok()
+                .header("X-Total-Count", String.valueOf(approvalService.countPendingForCurrentUser()))
+                .body(approvalService.getNextPendingForCurrentUser(limit));
     }
     
     /**
@@ -51,10 +78,10 @@ public class ApprovalController {
     @GetMapping("/{id}")
     public ResponseEntity<Approval> getApprovalById(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return approvalService.getApprovalById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+        return versionStamps.respondIfPresent(ifNoneMatch, versionStamps.entityTag(VersionStamps.APPROVALS, id),
+                () -> approvalService.getApprovalById(id));
     }
     
     /**
@@ -67,10 +94,11 @@ public class ApprovalController {
             @RequestBody Map<String, String> body,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
         
-        String status = body.get("status");
         String reason = body.get("reason");
-        
-        if (status == null || status.isEmpty()) {
+        ApprovalStatus status;
+        try {
+            status = ApprovalStatus.valueOf(body.getOrDefault("status", "").trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
         
@@ -82,6 +110,17 @@ public class ApprovalController {
         }
     }
     
+    /**
+     * POST /approvals/decisions - Decide many approvals in one transaction
+     * Body: [{"id": 1, "status": "APPROVED|REJECTED|ESCALATED", "reason": "optional"}, ...]
+     * Returns one result per submitted decision, in request order
+     */
+    @PostMapping("/decisions")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'LEADERSHIP')")
+    public ResponseEntity<List<BatchItemResult>> decideApprovals(@RequestBody List<ApprovalDecision> decisions) {
+        return ResponseEntity.ok(approvalService.decideAll(decisions));
+    }
+    
     /**
      * POST /approvals - Create new approval
      */
@@ -0,0 +1,24 @@
+package com.enterprisesystemengineering.dto;
+
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One decision in a batch: move approval {@code id} to APPROVED, REJECTED or ESCALATED.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ApprovalDecision {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("status")
+    private ApprovalStatus status;
+
+    @JsonProperty("reason")
+    private String reason;
+}
@@ -0,0 +1,36 @@
+package com.enterprisesystemengineering.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item in a batch request; index is the item's position in the request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResult {
+    @JsonProperty("index")
+    private int index;
+
+    @JsonProperty("id")
+    private String id;
+
+    @JsonProperty("success")
+    private boolean success;
+
+    @JsonProperty("error")
+    private String error;
+
+    public static BatchItemResult ok(int index, String id) {
+        return new BatchItemResult(index, id, true, null);
+    }
+
+    public static BatchItemResult failed(int index, String id, String error) {
+        return new BatchItemResult(index, id, false, error);
+    }
+}
@@ -0,0 +1,25 @@
+package com.enterprisesystemengineering.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Moves every listed id that is currently in {@code from} to {@code to}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkStatusTransition<S extends Enum<S>> {
+    @JsonProperty("ids")
+    private List<String> ids;
+
+    @JsonProperty("from")
+    private S from;
+
+    @JsonProperty("to")
+    private S to;
+}
@@ -0,0 +1,22 @@
+package com.enterprisesystemengineering.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Ids that changed status, and ids that were skipped because they do not exist or were not in the expected status.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkTransitionResult {
+    @JsonProperty("transitioned")
+    private List<String> transitioned;
+
+    @JsonProperty("skipped")
+    private List<String> skipped;
+}
@@ -0,0 +1,31 @@
+package com.enterprisesystemengineering.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One keyset page. There is no exact total; approximateTotal comes from table statistics when requested.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+    @JsonProperty("content")
+    private List<T> content;
+
+    @JsonProperty("size")
+    private int size;
+
+    @JsonProperty("hasNext")
+    private boolean hasNext;
+
+    @JsonProperty("nextCursor")
+    private String nextCursor;
+
+    @JsonProperty("approximateTotal")
+    private Long approximateTotal;
+}
@@ -0,0 +1,27 @@
+package com.enterprisesystemengineering.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * Counts per status; breakdown is keyed by type (workflows) or assignee (tasks) and only filled on request.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class StatusStats {
+    @JsonProperty("total")
+    private long total;
+
+    @JsonProperty("byStatus")
+    private Map<String, Long> byStatus;
+
+    @JsonProperty("breakdown")
+    private Map<String, Map<String, Long>> breakdown;
+}
@@ -0,0 +1,39 @@
+package com.enterprisesystemengineering.dto;
+
+import com.enterprisesystemengineering.aiinsight.AiInsight;
+import com.enterprisesystemengineering.audit.AuditLog;
+import com.enterprisesystemengineering.task.Task;
+import com.enterprisesystemengineering.workflow.Workflow;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Everything the workflow process page shows, in one document.
+ * A part that failed or timed out is null and named in {@code unavailable}; a part the caller
+ * may not see is null and not listed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WorkflowDetail {
+    @JsonProperty("workflow")
+    private Workflow workflow;
+
+    @JsonProperty("tasks")
+    private List<Task> tasks;
+
+    @JsonProperty("aiInsights")
+    private List<AiInsight> aiInsights;
+
+    @JsonProperty("auditHistory")
+    private List<AuditLog> auditHistory;
+
+    @JsonProperty("unavailable")
+    private List<String> unavailable;
+}
@@ -0,0 +1,8 @@
+package com.enterprisesystemengineering.enums;
+
+public enum ApprovalStatus {
+    PENDING,
+    APPROVED,
+    REJECTED,
+    ESCALATED
+}
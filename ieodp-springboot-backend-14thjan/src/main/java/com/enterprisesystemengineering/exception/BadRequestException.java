@@ -0,0 +1,16 @@
+package com.enterprisesystemengineering.exception;
+
+/**
+ * Raised when a request is well-formed JSON but asks for something the endpoint cannot do,
+ * e.g. a batch over its limit or an unusable cursor; mapped to 400.
+ */
+public class BadRequestException extends RuntimeException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    public BadRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,12 @@
+package com.enterprisesystemengineering.exception;
+
+/**
+ * Raised when a write loses against the current state of the row, e.g. a disallowed
+ * status transition or a stale version; mapped to 409.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.enterprisesystemengineering.exception;
+
+/**
+ * Raised when a keyset cursor cannot be decoded.
+ */
+public class InvalidCursorException extends BadRequestException {
+
+    public InvalidCursorException(Throwable cause) {
+        super("Invalid cursor", cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.enterprisesystemengineering.exception;
+
+import lombok.Getter;
+
+/**
+ * Raised when a downstream service is refused without calling it (open circuit, saturated bulkhead)
+ * or did not answer in time; mapped to 503 with a Retry-After header.
+ */
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String message, long retryAfterSeconds, Throwable cause) {
+        super(message, cause);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
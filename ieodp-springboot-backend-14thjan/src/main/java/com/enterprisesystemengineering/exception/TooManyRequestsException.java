@@ -0,0 +1,17 @@
+package com.enterprisesystemengineering.exception;
+
+import lombok.Getter;
+
+/**
+ * Raised when a bounded resource is saturated; mapped to 429 with a Retry-After header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
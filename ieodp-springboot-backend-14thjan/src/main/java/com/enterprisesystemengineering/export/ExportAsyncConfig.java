@@ -0,0 +1,42 @@
+package com.enterprisesystemengineering.export;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Gives streamed export responses their own async timeout. Every other async request keeps the
+ * container default; {@link ExportController} marks its responses with {@link #LONG_RUNNING}.
+ */
+@Configuration
+public class ExportAsyncConfig implements WebMvcConfigurer {
+
+    static final String LONG_RUNNING = ExportAsyncConfig.class.getName() + ".LONG_RUNNING";
+
+    private final long timeoutMs;
+
+    public ExportAsyncConfig(@Value("${export.request-timeout-ms:600000}") long timeoutMs) {
+        this.timeoutMs = timeoutMs;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new CallableProcessingInterceptor() {
+            @Override
+            public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+                // runs before async processing starts, so the timeout still applies to this request
+                if (request instanceof AsyncWebRequest asyncRequest
+                        && request.getAttribute(LONG_RUNNING, RequestAttributes.SCOPE_REQUEST) != null) {
+                    asyncRequest.setTimeout(timeoutMs);
+                }
+            }
+        });
+    }
+}
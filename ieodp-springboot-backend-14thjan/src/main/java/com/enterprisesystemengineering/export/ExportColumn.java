@@ -0,0 +1,9 @@
+package com.enterprisesystemengineering.export;
+
+import java.util.function.Function;
+
+/**
+ * One CSV column: header name and how to read it from a row.
+ */
+record ExportColumn<T>(String name, Function<T, Object> value) {
+}
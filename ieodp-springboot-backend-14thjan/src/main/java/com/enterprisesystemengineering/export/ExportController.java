@@ -0,0 +1,74 @@
+package com.enterprisesystemengineering.export;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.zip.GZIPOutputStream;
+
+@RestController
+@RequestMapping("/exports")
+@PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT')")
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * GET /exports/workflows?format=NDJSON|CSV&gzip=false
+     */
+    @GetMapping("/workflows")
+    public ResponseEntity<StreamingResponseBody> exportWorkflows(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("workflows", format, gzip, out -> exportService.exportWorkflows(format, out));
+    }
+
+    /**
+     * GET /exports/tasks?format=NDJSON|CSV&gzip=false
+     */
+    @GetMapping("/tasks")
+    public ResponseEntity<StreamingResponseBody> exportTasks(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("tasks", format, gzip, out -> exportService.exportTasks(format, out));
+    }
+
+    /**
+     * GET /exports/auditLogs?format=NDJSON|CSV&gzip=false - Includes archived entries
+     */
+    @GetMapping("/auditLogs")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            @RequestParam(defaultValue = "NDJSON") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return stream("audit-logs", format, gzip, out -> exportService.exportAuditLogs(format, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format, boolean gzip, Export export) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = out -> export.writeTo(gzip ? new GZIPOutputStream(out, 64 * 1024) : out);
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(ExportAsyncConfig.LONG_RUNNING, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType(format.getContentType()))
+                .body(body);
+    }
+
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,152 @@
+package com.enterprisesystemengineering.export;
+
+import com.enterprisesystemengineering.audit.AuditArchive;
+import com.enterprisesystemengineering.audit.AuditLog;
+import com.enterprisesystemengineering.config.StreamingFetchSize;
+import com.enterprisesystemengineering.task.Task;
+import com.enterprisesystemengineering.workflow.Workflow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables to an output stream row by row.
+ * Rows are streamed by the export query alone (see {@link StreamingFetchSize}) inside a read-only
+ * transaction and are detached as soon as they are written, so memory use does not grow with the table.
+ */
+@Service
+public class ExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String WORKFLOWS_QUERY = "select w from Workflow w order by w.createdAt, w.id";
+    private static final String TASKS_QUERY = "select t from Task t order by t.id";
+    private static final String AUDIT_LOGS_QUERY = "select a from AuditLog a order by a.timestamp, a.id";
+
+    private static final List<ExportColumn<Workflow>> WORKFLOW_COLUMNS = List.of(
+            new ExportColumn<>("id", Workflow::getId),
+            new ExportColumn<>("name", Workflow::getName),
+            new ExportColumn<>("type", Workflow::getType),
+            new ExportColumn<>("status", Workflow::getStatus),
+            new ExportColumn<>("createdBy", Workflow::getCreatedBy),
+            new ExportColumn<>("createdAt", Workflow::getCreatedAt));
+
+    private static final List<ExportColumn<Task>> TASK_COLUMNS = List.of(
+            new ExportColumn<>("id", Task::getId),
+            new ExportColumn<>("title", Task::getTitle),
+            new ExportColumn<>("status", Task::getStatus),
+            new ExportColumn<>("assignedTo", Task::getAssignedTo),
+            new ExportColumn<>("workflowId", Task::getWorkflowId));
+
+    private static final List<ExportColumn<AuditLog>> AUDIT_COLUMNS = List.of(
+            new ExportColumn<>("id", AuditLog::getId),
+            new ExportColumn<>("userId", AuditLog::getUserId),
+            new ExportColumn<>("role", AuditLog::getRole),
+            new ExportColumn<>("action", AuditLog::getAction),
+            new ExportColumn<>("entity", AuditLog::getEntity),
+            new ExportColumn<>("entityId", AuditLog::getEntityId),
+            new ExportColumn<>("previousState", AuditLog::getPreviousState),
+            new ExportColumn<>("newState", AuditLog::getNewState),
+            new ExportColumn<>("stateFormat", AuditLog::getStateFormat),
+            new ExportColumn<>("timestamp", AuditLog::getTimestamp));
+
+    private final AuditArchive auditArchive;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int fetchSize;
+
+    public ExportService(AuditArchive auditArchive,
+                         EntityManager entityManager,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         StreamingFetchSize streamingFetchSize,
+                         @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.auditArchive = auditArchive;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.fetchSize = streamingFetchSize.rows(fetchSize);
+    }
+
+    public void exportWorkflows(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<Workflow> writer = RowWriter.open(format, out, objectMapper, WORKFLOW_COLUMNS)) {
+            writeAll(() -> stream(WORKFLOWS_QUERY, Workflow.class), writer, 0);
+        }
+    }
+
+    public void exportTasks(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<Task> writer = RowWriter.open(format, out, objectMapper, TASK_COLUMNS)) {
+            writeAll(() -> stream(TASKS_QUERY, Task.class), writer, 0);
+        }
+    }
+
+    /**
+     * Archived entries first, then the hot table; both are ascending and the archive only holds older rows.
+     */
+    public void exportAuditLogs(ExportFormat format, OutputStream out) throws IOException {
+        try (RowWriter<AuditLog> writer = RowWriter.open(format, out, objectMapper, AUDIT_COLUMNS)) {
+            long[] written = {0};
+            try {
+                auditArchive.forEach(audit -> {
+                    try {
+                        write(writer, audit, ++written[0]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writeAll(() -> stream(AUDIT_LOGS_QUERY, AuditLog.class), writer, written[0]);
+        }
+    }
+
+    private <T> Stream<T> stream(String query, Class<T> type) {
+        return entityManager.createQuery(query, type)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private <T> void writeAll(Supplier<Stream<T>> query, RowWriter<T> writer, long alreadyWritten) throws IOException {
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                long count = alreadyWritten;
+                try (Stream<T> rows = query.get()) {
+                    Iterator<T> iterator = rows.iterator();
+                    while (iterator.hasNext()) {
+                        T row = iterator.next();
+                        write(writer, row, ++count);
+                        entityManager.detach(row);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static <T> void write(RowWriter<T> writer, T row, long count) throws IOException {
+        writer.write(row);
+        // first row goes out immediately, after that in buffered chunks
+        if (count == 1 || count % FLUSH_EVERY == 0) {
+            writer.flush();
+        }
+    }
+}
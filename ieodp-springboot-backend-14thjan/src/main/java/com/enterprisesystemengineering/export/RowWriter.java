@@ -0,0 +1,117 @@
+package com.enterprisesystemengineering.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes export rows one at a time to a buffered stream; nothing is collected in memory.
+ */
+abstract class RowWriter<T> implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    protected final Writer out;
+
+    private RowWriter(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    static <T> RowWriter<T> open(ExportFormat format, OutputStream out, ObjectMapper objectMapper,
+                                 List<ExportColumn<T>> columns) throws IOException {
+        return format == ExportFormat.CSV
+                ? new Csv<>(out, columns)
+                : new NdJson<>(out, objectMapper);
+    }
+
+    abstract void write(T row) throws IOException;
+
+    void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private static final class NdJson<T> extends RowWriter<T> {
+
+        private final ObjectWriter json;
+
+        NdJson(OutputStream out, ObjectMapper objectMapper) {
+            super(out);
+            this.json = objectMapper.writer()
+                    .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            json.writeValue(out, row);
+            out.write('\n');
+        }
+    }
+
+    private static final class Csv<T> extends RowWriter<T> {
+
+        private final List<ExportColumn<T>> columns;
+
+        Csv(OutputStream out, List<ExportColumn<T>> columns) throws IOException {
+            super(out);
+            this.columns = columns;
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    this.out.write(',');
+                }
+                writeField(columns.get(i).name());
+            }
+            this.out.write("\r\n");
+        }
+
+        @Override
+        void write(T row) throws IOException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                Object value = columns.get(i).value().apply(row);
+                if (value != null) {
+                    writeField(value.toString());
+                }
+            }
+            out.write("\r\n");
+        }
+
+        private void writeField(String value) throws IOException {
+            boolean quote = false;
+            for (int i = 0; i < value.length() && !quote; i++) {
+                char c = value.charAt(i);
+                quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+            }
+            if (!quote) {
+                out.write(value);
+                return;
+            }
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') {
+                    out.write('"');
+                }
+                out.write(c);
+            }
+            out.write('"');
+        }
+    }
+}
@@ -1,30 +1,77 @@
 package com.enterprisesystemengineering.pythonapi.client;
 
+import com.enterprisesystemengineering.exception.ServiceUnavailableException;
 import com.enterprisesystemengineering.pythonapi.dto.AutomationEvent;
 import com.enterprisesystemengineering.pythonapi.dto.AutomationResponse;
 import com.enterprisesystemengineering.pythonapi.dto.HealthCheckResponse;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.netty.channel.ConnectTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 
+import java.io.IOException;
+import java.net.ConnectException;
+import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
 
+/**
+ * Calls the Python rule engine. Every call runs inside a bulkhead that caps calls in flight and a circuit
+ * breaker that fails fast while the service is unhealthy; both refusals surface as
+ * {@link ServiceUnavailableException} without touching the network. Transient failures are retried with
+ * jittered backoff: any failure for idempotent GETs, only failures to connect for the automation POST,
+ * since a request that reached the service may already have been executed. {@code python.api.timeout}
+ * bounds the whole call, retries included.
+ */
 @Service
 public class PythonApiClient {
 
     private final WebClient webClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration timeout;
+    private final int maxRetries;
+    private final Duration retryBackoff;
+    private final double retryJitter;
+    private final long openStateSeconds;
 
-    public PythonApiClient(WebClient pythonApiWebClient) {
+    public PythonApiClient(
+            WebClient pythonApiWebClient,
+            CircuitBreaker pythonApiCircuitBreaker,
+            Bulkhead pythonApiBulkhead,
+            @Value("${python.api.timeout:30000}") long timeoutMs,
+            @Value("${python.api.retry.max-retries:2}") int maxRetries,
+            @Value("${python.api.retry.backoff-ms:100}") long retryBackoffMs,
+            @Value("${python.api.retry.jitter:0.5}") double retryJitter,
+            @Value("${python.api.circuit-breaker.open-state-ms:15000}") long openStateMs) {
         this.webClient = pythonApiWebClient;
+        this.circuitBreaker = pythonApiCircuitBreaker;
+        this.bulkhead = pythonApiBulkhead;
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxRetries = maxRetries;
+        this.retryBackoff = Duration.ofMillis(retryBackoffMs);
+        this.retryJitter = retryJitter;
+        this.openStateSeconds = Math.max(1, openStateMs / 1000);
     }
 
     public HealthCheckResponse checkHealth() {
         try {
-            return webClient.get()
+            return resilient(webClient.get()
                     .uri("/")
                     .retrieve()
-                    .bodyToMono(HealthCheckResponse.class)
+                    .bodyToMono(HealthCheckResponse.class), PythonApiClient::isTransient)
                     .block();
         } catch (WebClientResponseException e) {
             throw new RuntimeException("Failed to check Python API health", e);
@@ -32,18 +79,77 @@ public class PythonApiClient {
     }
 
     public AutomationResponse executeAutomation(AutomationEvent event) {
-        try {
-            return webClient.post()
-                    .uri("/api/v1/automation/execute")
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .header("X-Correlation-ID", UUID.randomUUID().toString())
-                    .bodyValue(event)
-                    .retrieve()
-                    .bodyToMono(AutomationResponse.class)
-                    .block();
-        } catch (WebClientResponseException e) {
-            throw new RuntimeException("Failed to execute automation", e);
+        return executeAutomationAsync(event).block();
+    }
+
+    /**
+     * Same call as {@link #executeAutomation} without holding a thread while the service answers.
+     */
+    public Mono<AutomationResponse> executeAutomationAsync(AutomationEvent event) {
+        return resilient(webClient.post()
+                .uri("/api/v1/automation/execute")
+                .contentType(MediaType.APPLICATION_JSON)
+                .header("X-Correlation-ID", UUID.randomUUID().toString())
+                .bodyValue(event)
+                .retrieve()
+                .bodyToMono(AutomationResponse.class), PythonApiClient::isConnectFailure)
+                .onErrorMap(WebClientResponseException.class, e -> new RuntimeException("Failed to execute automation", e));
+    }
+
+    /**
+     * Breaker per attempt, so every try is recorded; retries inside the bulkhead, so they reuse the caller's
+     * permit; one deadline over everything.
+     */
+    private <T> Mono<T> resilient(Mono<T> call, Predicate<Throwable> retryable) {
+        Mono<T> guarded = call.transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+        if (maxRetries > 0) {
+            guarded = guarded.retryWhen(Retry.backoff(maxRetries, retryBackoff)
+                    .jitter(retryJitter)
+                    .filter(retryable)
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
         }
+        return guarded
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .timeout(timeout)
+                .onErrorMap(PythonApiClient::isUnavailable, this::unavailable);
+    }
+
+    /**
+     * Refused locally, timed out, or failed in transport (connect error, response timeout); HTTP error
+     * responses keep their own handling.
+     */
+    private static boolean isUnavailable(Throwable error) {
+        return error instanceof CallNotPermittedException
+                || error instanceof BulkheadFullException
+                || error instanceof TimeoutException
+                || error instanceof WebClientRequestException;
     }
-}
 
+    private ServiceUnavailableException unavailable(Throwable error) {
+        if (error instanceof CallNotPermittedException) {
+            return new ServiceUnavailableException("Python API circuit is open", openStateSeconds, error);
+        }
+        if (error instanceof BulkheadFullException) {
+            return new ServiceUnavailableException("Too many Python API calls in flight", 1, error);
+        }
+        if (error instanceof TimeoutException) {
+            return new ServiceUnavailableException("Python API did not answer in time", 5, error);
+        }
+        return new ServiceUnavailableException("Python API unreachable: " + error.getMessage(), 5, error);
+    }
+
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            int status = response.getStatusCode().value();
+            return status == 502 || status == 503 || status == 504;
+        }
+        return error instanceof WebClientRequestException
+                || error instanceof IOException
+                || error instanceof TimeoutException;
+    }
+
+    private static boolean isConnectFailure(Throwable error) {
+        Throwable cause = error instanceof WebClientRequestException ? error.getCause() : error;
+        return cause instanceof ConnectException || cause instanceof ConnectTimeoutException;
+    }
+}
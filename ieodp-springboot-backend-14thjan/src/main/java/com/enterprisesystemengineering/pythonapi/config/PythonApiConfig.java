@@ -1,21 +1,114 @@
 package com.enterprisesystemengineering.pythonapi.config;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.ChannelOption;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * WebClient for the Python rule engine on a dedicated, bounded Reactor Netty pool, plus the bulkhead and
+ * circuit breaker {@code PythonApiClient} wraps every call in. Pool metrics are published under
+ * {@code reactor.netty.connection.provider.*}, breaker and bulkhead metrics under {@code resilience4j.*}.
+ */
 @Configuration
 public class PythonApiConfig {
 
+    public static final String NAME = "pythonApi";
+
     @Value("${python.api.base-url}")
     private String pythonApiBaseUrl;
 
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider pythonApiConnectionProvider(
+            @Value("${python.api.pool.max-connections:100}") int maxConnections,
+            @Value("${python.api.pool.pending-acquire-max:500}") int pendingAcquireMax,
+            @Value("${python.api.pool.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${python.api.pool.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${python.api.pool.max-life-time-ms:300000}") long maxLifeTimeMs,
+            @Value("${python.api.pool.evict-interval-ms:30000}") long evictIntervalMs) {
+        return ConnectionProvider.builder(NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .maxLifeTime(Duration.ofMillis(maxLifeTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .metrics(true)
+                .build();
+    }
+
     @Bean
-    public WebClient pythonApiWebClient() {
+    public WebClient pythonApiWebClient(
+            ConnectionProvider pythonApiConnectionProvider,
+            @Value("${python.api.connect-timeout-ms:2000}") int connectTimeoutMs,
+            @Value("${python.api.response-timeout-ms:10000}") long responseTimeoutMs) {
+        HttpClient httpClient = HttpClient.create(pythonApiConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs))
+                .metrics(true, uri -> uri.startsWith("/api/v1/automation") ? "/api/v1/automation/*" : uri);
         return WebClient.builder()
                 .baseUrl(pythonApiBaseUrl)
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
                 .build();
     }
-}
 
+    /**
+     * Caps calls in flight to the Python service. A call over the limit fails immediately instead of queueing.
+     */
+    @Bean
+    public Bulkhead pythonApiBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${python.api.bulkhead.max-concurrent-calls:50}") int maxConcurrentCalls) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(NAME);
+    }
+
+    /**
+     * Opens on a high rate of failed or slow calls and fails fast until the open period ends.
+     * 4xx responses are the caller's fault and do not count as failures.
+     */
+    @Bean
+    public CircuitBreaker pythonApiCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${python.api.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${python.api.circuit-breaker.slow-call-duration-ms:5000}") long slowCallDurationMs,
+            @Value("${python.api.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+            @Value("${python.api.circuit-breaker.sliding-window-size:50}") int slidingWindowSize,
+            @Value("${python.api.circuit-breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${python.api.circuit-breaker.open-state-ms:15000}") long openStateMs,
+            @Value("${python.api.circuit-breaker.half-open-calls:5}") int halfOpenCalls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallDurationMs))
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openStateMs))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .recordException(error -> !(error instanceof WebClientResponseException response
+                        && response.getStatusCode().is4xxClientError()))
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(NAME);
+    }
+}
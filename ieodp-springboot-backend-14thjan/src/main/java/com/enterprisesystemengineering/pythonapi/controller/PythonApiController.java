@@ -5,18 +5,24 @@ import com.enterprisesystemengineering.pythonapi.dto.AutomationEvent;
 import com.enterprisesystemengineering.pythonapi.dto.AutomationResponse;
 import com.enterprisesystemengineering.pythonapi.dto.HealthCheckResponse;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 
 @RestController
 @RequestMapping("/python-api")
 public class PythonApiController {
 
     private final PythonApiClient pythonApiClient;
+    private final boolean nonBlockingExecute;
 
-    public PythonApiController(PythonApiClient pythonApiClient) {
+    public PythonApiController(
+            PythonApiClient pythonApiClient,
+            @Value("${python.api.execute.non-blocking:true}") boolean nonBlockingExecute) {
         this.pythonApiClient = pythonApiClient;
+        this.nonBlockingExecute = nonBlockingExecute;
     }
 
     /**
@@ -37,13 +43,19 @@ public class PythonApiController {
      * POST /python-api/execute
      *
      * 🔐 PROTECTED endpoint (business operation)
+     *
+     * Non-blocking by default: the servlet thread is released once the call is sent and the response is
+     * written when the Python service answers. {@code python.api.execute.non-blocking=false} restores the
+     * blocking round trip.
      */
     @PostMapping("/execute")
     @PreAuthorize("hasAnyRole('ADMIN', 'OPERATIONS')")
-    public ResponseEntity<AutomationResponse> executeAutomation(
+    public Mono<ResponseEntity<AutomationResponse>> executeAutomation(
             @Valid @RequestBody AutomationEvent event) {
-        AutomationResponse response = pythonApiClient.executeAutomation(event);
-        return ResponseEntity.ok(response);
+        if (!nonBlockingExecute) {
+            return Mono.just(ResponseEntity.ok(pythonApiClient.executeAutomation(event)));
+        }
+        return pythonApiClient.executeAutomationAsync(event).map(ResponseEntity::ok);
     }
 }
 
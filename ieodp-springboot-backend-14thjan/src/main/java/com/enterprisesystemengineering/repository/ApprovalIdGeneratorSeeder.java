@@ -0,0 +1,51 @@
+package com.enterprisesystemengineering.repository;
+
+import com.enterprisesystemengineering.entity.Approval;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves the pooled approval id generator past ids issued by the former IDENTITY column, so the first block
+ * it hands out cannot collide with existing rows. Runs once at startup, after the schema is in place and
+ * before the web server accepts requests; the guarded update only ever moves the value forward, so replicas
+ * starting together are safe.
+ */
+@Component
+public class ApprovalIdGeneratorSeeder {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApprovalIdGeneratorSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        // the EntityManagerFactory dependency makes schema generation run first
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void seed() {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from approvals", Long.class);
+        long floor = (maxId == null ? 0 : maxId) + Approval.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update(
+                "update " + Approval.ID_GENERATOR_TABLE + " set next_val = ? where sequence_name = ? and next_val < ?",
+                floor, Approval.ID_GENERATOR_KEY, floor);
+        if (updated > 0) {
+            return;
+        }
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from " + Approval.ID_GENERATOR_TABLE + " where sequence_name = ?",
+                Integer.class, Approval.ID_GENERATOR_KEY);
+        if (rows != null && rows == 0) {
+            try {
+                jdbcTemplate.update("insert into " + Approval.ID_GENERATOR_TABLE + " (sequence_name, next_val) values (?, ?)",
+                        Approval.ID_GENERATOR_KEY, floor);
+            } catch (DuplicateKeyException e) {
+                // another replica inserted it first; retry the forward-only update
+                jdbcTemplate.update(
+                        "update " + Approval.ID_GENERATOR_TABLE + " set next_val = ? where sequence_name = ? and next_val < ?",
+                        floor, Approval.ID_GENERATOR_KEY, floor);
+            }
+        }
+    }
+}
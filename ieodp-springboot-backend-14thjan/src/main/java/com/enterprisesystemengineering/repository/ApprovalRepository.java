@@ -1,13 +1,43 @@
 package com.enterprisesystemengineering.repository;
 
 import com.enterprisesystemengineering.entity.Approval;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface ApprovalRepository extends JpaRepository<Approval, Long> {
-    List<Approval> findByStatus(String status);
+    List<Approval> findByStatus(ApprovalStatus status);
     List<Approval> findByWorkflowId(Long workflowId);
     List<Approval> findByAssignedTo(String assignedTo);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Approval> findByIdInAndStatus(Collection<Long> ids, ApprovalStatus status);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Approval a where a.id in :ids order by a.id")
+    List<Approval> lockAllById(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Approval a set a.status = :to, a.updatedAt = :now where a.id in :ids and a.status = :from")
+    int updateStatus(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") ApprovalStatus from,
+            @Param("to") ApprovalStatus to,
+            @Param("now") LocalDateTime now
+    );
+
+    @Query("select a.id, a.createdAt from Approval a where a.status = :status")
+    List<Object[]> findCreatedAtByStatus(@Param("status") ApprovalStatus status);
+
+    @Query("select a.id, a.assignedTo, a.priority, a.createdAt from Approval a where a.status = :status")
+    List<Object[]> findQueueEntries(@Param("status") ApprovalStatus status);
 }
@@ -0,0 +1,50 @@
+package com.enterprisesystemengineering.repository;
+
+import com.enterprisesystemengineering.entity.ApprovalStatusConverter;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Rewrites approval statuses stored before the column became an enum ("pending", " Approve ") to their
+ * constant names, so status-filtered queries and indexes see those rows. Runs once at startup, after the
+ * schema is in place; it reads only the distinct values and issues one update per legacy value, and is a
+ * no-op once the data is clean. Values it cannot map are left alone and logged.
+ */
+@Component
+public class ApprovalStatusNormalizer {
+
+    private static final Logger log = LoggerFactory.getLogger(ApprovalStatusNormalizer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ApprovalStatusNormalizer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        // the EntityManagerFactory dependency makes schema generation run first
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void normalize() {
+        List<String> values = jdbcTemplate.queryForList(
+                "select distinct status from approvals where status is not null", String.class);
+        for (String value : values) {
+            ApprovalStatus status;
+            try {
+                status = ApprovalStatusConverter.parse(value);
+            } catch (IllegalArgumentException e) {
+                log.warn("Approvals with unknown status '{}' left unchanged", value);
+                continue;
+            }
+            if (status != null && !value.equals(status.name())) {
+                int rows = jdbcTemplate.update("update approvals set status = ? where status = ?", status.name(), value);
+                log.info("Normalised {} approvals from status '{}' to {}", rows, value, status);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.enterprisesystemengineering.security;
+
+import com.enterprisesystemengineering.exception.ServiceUnavailableException;
+import com.enterprisesystemengineering.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs password hashing and verification on a small dedicated pool instead of servlet threads.
+ * When every hashing thread is busy and the queue is full, callers get a 429 straight away,
+ * so a login burst cannot occupy the whole Tomcat pool; a caller whose hash does not finish
+ * within the timeout gets a 503 and the work is cancelled.
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final boolean upgradeOnLogin;
+    private final long retryAfterSeconds;
+    private final long timeoutMs;
+
+    private final Timer queueWait;
+    private final Timer encodeTime;
+    private final Timer matchTime;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Counter upgraded;
+
+    public PasswordHashingExecutor(
+            PasswordEncoder passwordEncoder,
+            MeterRegistry meterRegistry,
+            @Value("${security.password.hashing.threads:0}") int threads,
+            @Value("${security.password.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${security.password.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${security.password.hashing.timeout-ms:5000}") long timeoutMs,
+            @Value("${security.password.upgrade-on-login:false}") boolean upgradeOnLogin) {
+        this.passwordEncoder = passwordEncoder;
+        this.upgradeOnLogin = upgradeOnLogin;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.timeoutMs = timeoutMs;
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                task -> {
+                    Thread thread = new Thread(task, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("password.hash.queue.wait")
+                .description("Time a password hashing request waited for a thread")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("password.hash.time")
+                .tag("operation", "encode")
+                .description("Time spent hashing a password")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.matchTime = Timer.builder("password.hash.time")
+                .tag("operation", "matches")
+                .description("Time spent hashing a password")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .description("Password hashing requests rejected because the executor was saturated")
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("password.hash.timeouts")
+                .description("Password hashing requests abandoned after the timeout")
+                .register(meterRegistry);
+        this.upgraded = Counter.builder("password.hash.upgraded")
+                .description("Stored password hashes re-encoded at the current cost on login")
+                .register(meterRegistry);
+    }
+
+    public String encode(CharSequence rawPassword) {
+        return run(() -> encodeTime.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return verify(rawPassword, encodedPassword).matched();
+    }
+
+    /**
+     * Checks a password and, when upgrade-on-login is enabled and the stored hash was produced
+     * with a lower cost than the current encoder, re-encodes it on the same hashing thread.
+     */
+    public Verification verify(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> {
+            boolean matched = Boolean.TRUE.equals(
+                    matchTime.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+            if (matched && upgradeOnLogin && passwordEncoder.upgradeEncoding(encodedPassword)) {
+                upgraded.increment();
+                return new Verification(true, encodeTime.record(() -> passwordEncoder.encode(rawPassword)));
+            }
+            return new Verification(matched, null);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Callable<T> work) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWait.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                return work.call();
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("Too many concurrent sign-in requests, please retry", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new ServiceUnavailableException("Password check timed out, please retry", retryAfterSeconds, e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException("Password hashing failed", cause);
+        }
+    }
+
+    /**
+     * Result of a password check; {@code upgradedHash} is set when the stored hash should be replaced.
+     */
+    public record Verification(boolean matched, String upgradedHash) {
+    }
+}
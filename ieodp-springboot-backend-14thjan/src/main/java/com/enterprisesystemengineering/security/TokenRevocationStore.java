@@ -0,0 +1,180 @@
+package com.enterprisesystemengineering.security;
+
+import com.enterprisesystemengineering.entity.RevokedToken;
+import com.enterprisesystemengineering.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Denylist of logged-out tokens.
+ * Every authenticated request checks a Bloom filter first; that check hashes the token's chars in place
+ * and touches a few words of a long array, so unrevoked tokens never allocate or leave the JVM.
+ * Only a filter hit consults the exact set. Entries are persisted in revoked_tokens and drop out
+ * on the next refresh after the token itself has expired.
+ */
+@Component
+public class TokenRevocationStore {
+
+    private final RevokedTokenRepository repository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private final Counter filterHits;
+    private final Counter falsePositives;
+
+    private volatile BloomFilter filter;
+    private volatile Map<String, Revocation> revoked = new ConcurrentHashMap<>();
+
+    public TokenRevocationStore(
+            RevokedTokenRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${security.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${security.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.repository = repository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+
+        Gauge.builder("security.revocation.entries", this, store -> store.revoked.size())
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+        this.filterHits = Counter.builder("security.revocation.filter.hits")
+                .description("Requests whose token matched the revocation Bloom filter")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("security.revocation.filter.false.positives")
+                .description("Bloom filter matches that were not in the exact revocation set")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void load() {
+        refresh();
+    }
+
+    public boolean isRevoked(String token) {
+        long fingerprint = fingerprint(token);
+        if (!filter.mightContain(fingerprint)) {
+            return false;
+        }
+        filterHits.increment();
+        Revocation revocation = revoked.get(TokenVerifier.hash(token));
+        if (revocation == null) {
+            falsePositives.increment();
+            return false;
+        }
+        return revocation.expiresAtMillis() > System.currentTimeMillis();
+    }
+
+    /**
+     * Revokes a token until its own expiry. Already-expired tokens are ignored.
+     */
+    public synchronized void revoke(String token, Instant expiresAt) {
+        if (expiresAt == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        long fingerprint = fingerprint(token);
+        String tokenHash = TokenVerifier.hash(token);
+        repository.save(new RevokedToken(tokenHash, fingerprint, expiresAt));
+        revoked.put(tokenHash, new Revocation(fingerprint, expiresAt.toEpochMilli()));
+        filter.put(fingerprint);
+    }
+
+    /**
+     * Drops expired entries and reloads the set from the database, which also picks up
+     * revocations made by other instances. The filter is rebuilt since Bloom bits cannot be cleared.
+     */
+    @Scheduled(fixedDelayString = "${security.revocation.refresh-ms:60000}",
+            initialDelayString = "${security.revocation.refresh-ms:60000}")
+    public synchronized void refresh() {
+        Instant now = Instant.now();
+        repository.deleteExpired(now);
+        List<RevokedToken> active = repository.findByExpiresAtAfter(now);
+
+        Map<String, Revocation> reloaded = new ConcurrentHashMap<>(Math.max(16, active.size() * 2));
+        BloomFilter rebuilt = new BloomFilter(Math.max(expectedEntries, active.size() * 2L), falsePositiveRate);
+        for (RevokedToken entry : active) {
+            reloaded.put(entry.getTokenHash(), new Revocation(entry.getFingerprint(), entry.getExpiresAt().toEpochMilli()));
+            rebuilt.put(entry.getFingerprint());
+        }
+        revoked = reloaded;
+        filter = rebuilt;
+    }
+
+    /**
+     * 64-bit FNV-1a over the token's chars with a final avalanche; reads the string in place.
+     */
+    static long fingerprint(String token) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < token.length(); i++) {
+            h ^= token.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private record Revocation(long fingerprint, long expiresAtMillis) {
+    }
+
+    /**
+     * Fixed-size Bloom filter over fingerprints using double hashing (h1 + i * h2).
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+
+        BloomFilter(long expectedEntries, double falsePositiveRate) {
+            long n = Math.max(1, expectedEntries);
+            long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = wordCount * 64L;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        }
+
+        boolean mightContain(long fingerprint) {
+            long h2 = mix(fingerprint) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(fingerprint + i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        void put(long fingerprint) {
+            long h2 = mix(fingerprint) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(fingerprint + i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = words.get(index);
+                } while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask));
+            }
+        }
+    }
+}
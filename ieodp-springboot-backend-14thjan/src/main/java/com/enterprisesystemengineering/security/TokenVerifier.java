@@ -0,0 +1,116 @@
+package com.enterprisesystemengineering.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Verifies HMAC-signed JWTs with a key and parser built once.
+ * Verified claims are cached under a SHA-256 of the token until the token's own expiry,
+ * so a client repeating the same bearer token pays for signature verification once.
+ * The cache holds an unmodifiable snapshot and every caller gets its own copy; a cache size of 0 disables it.
+ * One instance signs and verifies for both {@code JwtUtil} and {@link JwtTokenProvider}.
+ */
+@Component
+public class TokenVerifier {
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final Cache<String, Map<String, Object>> verified;
+    private final long maxTtlNanos;
+
+    public TokenVerifier(
+            MeterRegistry meterRegistry,
+            @Value("${app.jwtSecret:your-secret-key-minimum-32-characters-long-1234567890}") String secret,
+            @Value("${jwt.verified-cache.size:50000}") long cacheSize,
+            @Value("${app.jwtExpirationMs:86400000}") long maxTtlMs) {
+        this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.maxTtlNanos = Duration.ofMillis(maxTtlMs).toNanos();
+        this.verified = cacheSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, Map<String, Object>>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Map<String, Object> claims, long currentTime) {
+                        return remainingNanos(Jwts.claims(claims));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Map<String, Object> claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Map<String, Object> claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        if (verified != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verified, "jwt.verified");
+        }
+    }
+
+    public SecretKey getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the token's claims, verifying the signature only on a cache miss.
+     *
+     * @throws io.jsonwebtoken.JwtException when the token is malformed, forged or expired
+     */
+    public Claims verify(String token) {
+        if (verified == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        String tokenHash = hash(token);
+        Map<String, Object> cached = verified.getIfPresent(tokenHash);
+        if (cached != null) {
+            return Jwts.claims(cached);
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (remainingNanos(claims) > 0) {
+            verified.put(tokenHash, Collections.unmodifiableMap(new LinkedHashMap<>(claims)));
+        }
+        return claims;
+    }
+
+    private long remainingNanos(Claims claims) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return maxTtlNanos;
+        }
+        long remaining = Duration.ofMillis(expiration.getTime() - System.currentTimeMillis()).toNanos();
+        return Math.max(0, Math.min(remaining, maxTtlNanos));
+    }
+
+    static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.enterprisesystemengineering.service;
+
+import com.enterprisesystemengineering.entity.Approval;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.enums.TicketPriority;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by {@link ApprovalService} after every create and update of an approval,
+ * with the fields derived views key on copied from the saved row.
+ */
+public record ApprovalChangedEvent(Long id, ApprovalStatus status, String assignedTo, TicketPriority priority,
+                                   LocalDateTime createdAt) {
+
+    public static ApprovalChangedEvent of(Approval approval) {
+        return new ApprovalChangedEvent(approval.getId(), approval.getStatus(), approval.getAssignedTo(),
+                approval.getPriority(), approval.getCreatedAt());
+    }
+}
@@ -1,19 +1,55 @@
 package com.enterprisesystemengineering.service;
 
+import com.enterprisesystemengineering.audit.AuditLog;
+import com.enterprisesystemengineering.audit.AuditService;
+import com.enterprisesystemengineering.audit.AuditStateCodec;
+import com.enterprisesystemengineering.dto.ApprovalDecision;
+import com.enterprisesystemengineering.dto.BatchItemResult;
 import com.enterprisesystemengineering.entity.Approval;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.exception.BadRequestException;
 import com.enterprisesystemengineering.repository.ApprovalRepository;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.Optional;
 
 @Service
 public class ApprovalService {
     
+    private static final Set<ApprovalStatus> DECISIONS =
+            EnumSet.of(ApprovalStatus.APPROVED, ApprovalStatus.REJECTED, ApprovalStatus.ESCALATED);
+    
     private final ApprovalRepository approvalRepository;
+    private final ApplicationEventPublisher events;
+    private final PendingApprovalQueues pendingQueues;
+    private final AuditService auditService;
+    private final AuditStateCodec auditStateCodec;
+    private final int batchMaxItems;
     
-    public ApprovalService(ApprovalRepository approvalRepository) {
+    public ApprovalService(ApprovalRepository approvalRepository, ApplicationEventPublisher events,
+                           PendingApprovalQueues pendingQueues, AuditService auditService,
+                           AuditStateCodec auditStateCodec,
+                           @Value("${approval.batch.max-items:1000}") int batchMaxItems) {
         this.approvalRepository = approvalRepository;
+        this.events = events;
+        this.pendingQueues = pendingQueues;
+        this.auditService = auditService;
+        this.auditStateCodec = auditStateCodec;
+        this.batchMaxItems = batchMaxItems;
     }
     
     public List<Approval> getAllApprovals() {
@@ -21,37 +57,232 @@ public class ApprovalService {
     }
     
     public List<Approval> getPendingApprovals() {
-        return approvalRepository.findByStatus("PENDING");
+        return approvalRepository.findByStatus(ApprovalStatus.PENDING);
+    }
+    
+    /**
+     * The current user's next {@code n} pending approvals, highest priority and oldest first.
+     * Ids come from {@link PendingApprovalQueues}; only those rows are loaded, by primary key.
+     */
+    public List<Approval> getNextPendingForCurrentUser(int n) {
+        String userId = getCurrentUserId();
+        List<Long> ids = pendingQueues.next(userId, n);
+        Map<Long, Approval> loaded = new HashMap<>();
+        for (Approval approval : approvalRepository.findAllById(ids)) {
+            loaded.put(approval.getId(), approval);
+        }
+        List<Approval> next = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Approval approval = loaded.get(id);
+            // skip rows decided or reassigned since the queue was read
+            if (approval != null && approval.getStatus() == ApprovalStatus.PENDING && userId.equals(approval.getAssignedTo())) {
+                next.add(approval);
+            }
+        }
+        return next;
+    }
+    
+    public int countPendingForCurrentUser() {
+        return pendingQueues.size(getCurrentUserId());
     }
     
     public Optional<Approval> getApprovalById(Long id) {
         return approvalRepository.findById(id);
     }
     
-    public Approval updateApproval(Long id, String status, String reason) {
+    public Approval updateApproval(Long id, ApprovalStatus status, String reason) {
         Optional<Approval> optional = approvalRepository.findById(id);
         if (optional.isPresent()) {
             Approval approval = optional.get();
-            approval.setStatus(status);
-            if (reason != null && !reason.isEmpty()) {
-                approval.setRejectionReason(reason);
+            ObjectNode oldState = auditStateCodec.capture(approval);
+            applyDecision(approval, status, reason, getCurrentUserId(), LocalDateTime.now());
+            Approval saved = approvalRepository.save(approval);
+            
+            try {
+                auditService.logChange(getCurrentUserId(), getCurrentUserRole(), "UPDATE_APPROVAL_STATUS",
+                        "Approval", String.valueOf(saved.getId()), oldState, saved);
+            } catch (Exception e) {
+                System.err.println("Failed to log audit: " + e.getMessage());
             }
-            approval.setUpdatedAt(LocalDateTime.now());
-            return approvalRepository.save(approval);
+            
+            events.publishEvent(ApprovalChangedEvent.of(saved));
+            return saved;
         }
         throw new RuntimeException("Approval not found with id: " + id);
     }
     
+    /**
+     * Escalates the listed approvals that are still PENDING, in one transaction. Rows are locked first so an
+     * approval decided concurrently is skipped rather than overwritten; the locked rows then move with one
+     * set-based UPDATE and one batch audit insert. Returns the ids that were escalated.
+     */
+    @Transactional
+    public List<Long> escalate(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Approval> locked = approvalRepository.findByIdInAndStatus(ids, ApprovalStatus.PENDING);
+        if (locked.isEmpty()) {
+            return List.of();
+        }
+        List<Long> escalated = new ArrayList<>(locked.size());
+        List<ObjectNode> before = new ArrayList<>(locked.size());
+        for (Approval approval : locked) {
+            escalated.add(approval.getId());
+            before.add(auditStateCodec.capture(approval));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // clears the persistence context, so the in-memory changes below are not flushed again row by row
+        approvalRepository.updateStatus(escalated, ApprovalStatus.PENDING, ApprovalStatus.ESCALATED, now);
+        
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        List<AuditLog> audits = new ArrayList<>(locked.size());
+        for (int i = 0; i < locked.size(); i++) {
+            Approval approval = locked.get(i);
+            approval.setStatus(ApprovalStatus.ESCALATED);
+            approval.setUpdatedAt(now);
+            audits.add(auditService.change(userId, role, "UPDATE_APPROVAL_STATUS", "Approval",
+                    String.valueOf(approval.getId()), before.get(i), approval));
+        }
+        auditService.logAll(audits);
+        for (Approval approval : locked) {
+            events.publishEvent(ApprovalChangedEvent.of(approval));
+        }
+        return escalated;
+    }
+    
+    /**
+     * Applies many decisions in one transaction. The approvals are loaded and locked with one query;
+     * the status changes go out as JDBC-batched updates at flush, and their audit entries with one batch
+     * insert in the same transaction. Only PENDING or ESCALATED approvals can be decided, and ESCALATED
+     * only from PENDING; other items fail without affecting the rest. Results are in request order.
+     */
+    @Transactional
+    public List<BatchItemResult> decideAll(List<ApprovalDecision> decisions) {
+        if (decisions.size() > batchMaxItems) {
+            throw new BadRequestException("Batch exceeds " + batchMaxItems + " decisions");
+        }
+        Set<Long> ids = new HashSet<>();
+        for (ApprovalDecision decision : decisions) {
+            if (decision != null && decision.getId() != null) {
+                ids.add(decision.getId());
+            }
+        }
+        Map<Long, Approval> approvals = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Approval approval : approvalRepository.lockAllById(ids)) {
+                approvals.put(approval.getId(), approval);
+            }
+        }
+        
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> decided = new HashSet<>();
+        List<BatchItemResult> results = new ArrayList<>(decisions.size());
+        List<AuditLog> audits = new ArrayList<>();
+        List<Approval> changed = new ArrayList<>();
+        for (int i = 0; i < decisions.size(); i++) {
+            ApprovalDecision decision = decisions.get(i);
+            String id = decision == null || decision.getId() == null ? null : String.valueOf(decision.getId());
+            String error = validateDecision(decision, approvals, decided);
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, id, error));
+                continue;
+            }
+            Approval approval = approvals.get(decision.getId());
+            ObjectNode before = auditStateCodec.capture(approval);
+            applyDecision(approval, decision.getStatus(), decision.getReason(), userId, now);
+            audits.add(auditService.change(userId, role, "UPDATE_APPROVAL_STATUS", "Approval", id, before, approval));
+            decided.add(approval.getId());
+            changed.add(approval);
+            results.add(BatchItemResult.ok(i, id));
+        }
+        
+        if (!changed.isEmpty()) {
+            approvalRepository.flush();
+            auditService.logAll(audits);
+            for (Approval approval : changed) {
+                events.publishEvent(ApprovalChangedEvent.of(approval));
+            }
+        }
+        return results;
+    }
+    
+    /**
+     * Records a decision on an approval, the same way for single and batch updates: the decider is kept as
+     * {@code approvedBy} for every outcome except ESCALATED, which hands the approval on undecided.
+     */
+    private static void applyDecision(Approval approval, ApprovalStatus status, String reason, String userId,
+                                      LocalDateTime now) {
+        approval.setStatus(status);
+        if (status != ApprovalStatus.ESCALATED) {
+            approval.setApprovedBy(userId);
+        }
+        if (reason != null && !reason.isEmpty()) {
+            approval.setRejectionReason(reason);
+        }
+        approval.setUpdatedAt(now);
+    }
+    
+    private static String validateDecision(ApprovalDecision decision, Map<Long, Approval> approvals, Set<Long> decided) {
+        if (decision == null || decision.getId() == null) {
+            return "id is required";
+        }
+        if (decision.getStatus() == null || !DECISIONS.contains(decision.getStatus())) {
+            return "status must be one of " + DECISIONS;
+        }
+        if (decided.contains(decision.getId())) {
+            return "Duplicate decision for approval " + decision.getId();
+        }
+        Approval approval = approvals.get(decision.getId());
+        if (approval == null) {
+            return "Approval not found with id: " + decision.getId();
+        }
+        ApprovalStatus current = approval.getStatus();
+        if (current != ApprovalStatus.PENDING && current != ApprovalStatus.ESCALATED) {
+            return "Approval " + decision.getId() + " is already " + current;
+        }
+        if (decision.getStatus() == ApprovalStatus.ESCALATED && current != ApprovalStatus.PENDING) {
+            return "Approval " + decision.getId() + " is already ESCALATED";
+        }
+        return null;
+    }
+    
     public Approval createApproval(Approval approval) {
         approval.setCreatedAt(LocalDateTime.now());
         approval.setUpdatedAt(LocalDateTime.now());
         if (approval.getStatus() == null) {
-            approval.setStatus("PENDING");
+            approval.setStatus(ApprovalStatus.PENDING);
         }
-        return approvalRepository.save(approval);
+        Approval saved = approvalRepository.save(approval);
+        events.publishEvent(ApprovalChangedEvent.of(saved));
+        return saved;
     }
     
     public List<Approval> getApprovalsByWorkflow(Long workflowId) {
         return approvalRepository.findByWorkflowId(workflowId);
     }
+    
+    private String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() != null) {
+             if (authentication.getPrincipal() instanceof String) {
+                 return (String) authentication.getPrincipal();
+             } else if (authentication.getPrincipal() instanceof org.springframework.security.core.userdetails.UserDetails) {
+                 return ((org.springframework.security.core.userdetails.UserDetails) authentication.getPrincipal()).getUsername();
+             }
+             return authentication.getName();
+        }
+        return "SYSTEM";
+    }
+    
+    private String getCurrentUserRole() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && !authentication.getAuthorities().isEmpty()) {
+            return authentication.getAuthorities().iterator().next().getAuthority();
+        }
+        return "UNKNOWN";
+    }
 }
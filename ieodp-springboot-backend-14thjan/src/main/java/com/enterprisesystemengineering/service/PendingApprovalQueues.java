@@ -0,0 +1,136 @@
+package com.enterprisesystemengineering.service;
+
+import com.enterprisesystemengineering.cache.ReconciledView;
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.enums.TicketPriority;
+import com.enterprisesystemengineering.repository.ApprovalRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * In-memory queue of PENDING approval ids per assignee, highest priority first, then oldest first.
+ * Kept current from committed {@link ApprovalChangedEvent}s, seeded at startup and rebuilt on a schedule
+ * through {@link ReconciledView}. Taking the head of a queue or its size never touches the approvals table.
+ */
+@Component
+public class PendingApprovalQueues {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparing((Entry entry) -> entry.priority().ordinal(), Comparator.reverseOrder())
+            .thenComparing(Entry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Entry::id);
+
+    private final ReconciledView<Queues> queues;
+
+    public PendingApprovalQueues(ApprovalRepository repository) {
+        this.queues = new ReconciledView<>("pending approval queues", new Queues(),
+                () -> load(repository.findQueueEntries(ApprovalStatus.PENDING)));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        Entry entry = event.status() == ApprovalStatus.PENDING && event.assignedTo() != null
+                ? new Entry(event.id(), event.assignedTo(), priorityOf(event.priority()), event.createdAt())
+                : null;
+        queues.apply(current -> current.replace(event.id(), entry));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        queues.seed();
+    }
+
+    @Scheduled(fixedDelayString = "${approval.queue.reconcile-interval-ms:300000}",
+            initialDelayString = "${approval.queue.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        queues.rebuild();
+    }
+
+    /**
+     * Ids of the first {@code n} pending approvals for the assignee, in queue order.
+     */
+    public List<Long> next(String assignedTo, int n) {
+        return queues.get().head(assignedTo, n);
+    }
+
+    public int size(String assignedTo) {
+        return queues.get().size(assignedTo);
+    }
+
+    private static Queues load(List<Object[]> rows) {
+        Queues loaded = new Queues();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                loaded.add(new Entry((Long) row[0], (String) row[1], priorityOf((TicketPriority) row[2]), (LocalDateTime) row[3]));
+            }
+        }
+        return loaded;
+    }
+
+    private static TicketPriority priorityOf(TicketPriority priority) {
+        return priority != null ? priority : TicketPriority.MEDIUM;
+    }
+
+    record Entry(Long id, String assignedTo, TicketPriority priority, LocalDateTime createdAt) {
+    }
+
+    /**
+     * Entries by id, so a decision or reassignment finds the queue to leave without the previous state.
+     */
+    private static final class Queues {
+
+        private final Map<Long, Entry> byId = new HashMap<>();
+        private final Map<String, TreeSet<Entry>> byAssignee = new HashMap<>();
+
+        synchronized void add(Entry entry) {
+            byId.put(entry.id(), entry);
+            byAssignee.computeIfAbsent(entry.assignedTo(), k -> new TreeSet<>(ORDER)).add(entry);
+        }
+
+        /**
+         * Drops the approval from whatever queue holds it, then queues {@code entry} when not null.
+         */
+        synchronized void replace(Long id, Entry entry) {
+            Entry previous = byId.remove(id);
+            if (previous != null) {
+                TreeSet<Entry> queue = byAssignee.get(previous.assignedTo());
+                if (queue != null) {
+                    queue.remove(previous);
+                }
+            }
+            if (entry != null) {
+                add(entry);
+            }
+        }
+
+        synchronized List<Long> head(String assignedTo, int n) {
+            TreeSet<Entry> queue = byAssignee.get(assignedTo);
+            if (queue == null || n <= 0) {
+                return List.of();
+            }
+            List<Long> ids = new ArrayList<>(Math.min(n, queue.size()));
+            Iterator<Entry> iterator = queue.iterator();
+            while (iterator.hasNext() && ids.size() < n) {
+                ids.add(iterator.next().id());
+            }
+            return ids;
+        }
+
+        synchronized int size(String assignedTo) {
+            TreeSet<Entry> queue = byAssignee.get(assignedTo);
+            return queue == null ? 0 : queue.size();
+        }
+    }
+}
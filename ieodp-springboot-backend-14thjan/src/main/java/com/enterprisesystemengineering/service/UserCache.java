@@ -0,0 +1,116 @@
+package com.enterprisesystemengineering.service;
+
+import com.enterprisesystemengineering.entity.User;
+import com.enterprisesystemengineering.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Read-through cache in front of {@link UserRepository} for the login and token paths.
+ * Users are cached by email and by id; unknown emails are remembered for a shorter time so repeated
+ * failed logins do not reach the database. Every write path must call {@link #put} or {@link #evict}.
+ * The cache keeps its own copies and hands out a fresh copy on every read, so a caller mutating the
+ * returned user before saving it cannot change what other requests see.
+ */
+@Component
+public class UserCache {
+
+    private final UserRepository repository;
+    private final Cache<String, User> byEmail;
+    private final Cache<Long, User> byId;
+    private final Cache<String, Boolean> unknownEmails;
+
+    public UserCache(
+            UserRepository repository,
+            MeterRegistry meterRegistry,
+            @Value("${user.cache.max-size:10000}") long maxSize,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${user.cache.negative-max-size:100000}") long negativeMaxSize,
+            @Value("${user.cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.repository = repository;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.unknownEmails = Caffeine.newBuilder()
+                .maximumSize(negativeMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(negativeTtlSeconds))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "users.byEmail");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, unknownEmails, "users.unknownEmail");
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        User cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        if (unknownEmails.getIfPresent(email) != null) {
+            return Optional.empty();
+        }
+        Optional<User> loaded = repository.findByEmail(email);
+        loaded.ifPresentOrElse(this::put, () -> unknownEmails.put(email, Boolean.TRUE));
+        return loaded;
+    }
+
+    public Optional<User> findById(Long id) {
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(copy(cached));
+        }
+        Optional<User> loaded = repository.findById(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    /**
+     * Caches a freshly saved user, replacing any entry under its previous email.
+     */
+    public User put(User user) {
+        evict(user.getId());
+        User cached = copy(user);
+        byId.put(user.getId(), cached);
+        byEmail.put(user.getEmail(), cached);
+        unknownEmails.invalidate(user.getEmail());
+        return user;
+    }
+
+    public void evict(User user) {
+        evict(user.getId());
+        byEmail.invalidate(user.getEmail());
+    }
+
+    public void evict(Long id) {
+        if (id == null) {
+            return;
+        }
+        User previous = byId.getIfPresent(id);
+        byId.invalidate(id);
+        if (previous != null) {
+            byEmail.invalidate(previous.getEmail());
+        }
+    }
+
+    private static User copy(User user) {
+        return user.toBuilder().build();
+    }
+}
@@ -0,0 +1,238 @@
+package com.enterprisesystemengineering.sla;
+
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.repository.ApprovalRepository;
+import com.enterprisesystemengineering.service.ApprovalChangedEvent;
+import com.enterprisesystemengineering.service.ApprovalService;
+import com.enterprisesystemengineering.task.TaskChangedEvent;
+import com.enterprisesystemengineering.task.TaskRepository;
+import com.enterprisesystemengineering.task.TaskService;
+import com.enterprisesystemengineering.task.TaskStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Escalates approvals and tasks that stay PENDING past their SLA. Every pending item has one timer in a
+ * {@link TimingWheel}; committed change events schedule or cancel it in O(1), so nothing scans the pending
+ * rows on a schedule. Deadlines are rebuilt from the database at startup (approval creation time, task
+ * status change time). Expired timers are escalated in batches through {@link ApprovalService#escalate}
+ * and {@link TaskService#escalate}, each a single bulk update per batch.
+ * <p>
+ * Escalation locks the rows and skips anything no longer PENDING, so an item decided just before its timer
+ * fired, or escalated by another replica, is left alone. A failed batch is retried after
+ * {@code sla.escalation.retry-delay-ms}. With {@code sla.enabled=false} no timers are kept at all.
+ */
+@Component
+public class SlaEscalationEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SlaEscalationEngine.class);
+
+    enum Kind { APPROVAL, TASK }
+
+    record Item(Kind kind, String id) {
+    }
+
+    private final ApprovalService approvalService;
+    private final ApprovalRepository approvalRepository;
+    private final TaskService taskService;
+    private final TaskRepository taskRepository;
+    private final MeterRegistry meterRegistry;
+    private final TimingWheel<Item> wheel;
+    private final ScheduledExecutorService ticker;
+
+    private final boolean enabled;
+    private final long tickMs;
+    private final long approvalDeadlineMs;
+    private final long taskDeadlineMs;
+    private final int batchSize;
+    private final long retryDelayMs;
+
+    public SlaEscalationEngine(
+            ApprovalService approvalService,
+            ApprovalRepository approvalRepository,
+            TaskService taskService,
+            TaskRepository taskRepository,
+            MeterRegistry meterRegistry,
+            @Value("${sla.enabled:true}") boolean enabled,
+            @Value("${sla.approval.deadline-ms:172800000}") long approvalDeadlineMs,
+            @Value("${sla.task.deadline-ms:259200000}") long taskDeadlineMs,
+            @Value("${sla.wheel.tick-ms:1000}") long tickMs,
+            @Value("${sla.wheel.bits:6}") int bits,
+            @Value("${sla.wheel.levels:5}") int levels,
+            @Value("${sla.escalation.batch-size:200}") int batchSize,
+            @Value("${sla.escalation.retry-delay-ms:60000}") long retryDelayMs) {
+        this.approvalService = approvalService;
+        this.approvalRepository = approvalRepository;
+        this.taskService = taskService;
+        this.taskRepository = taskRepository;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.tickMs = tickMs;
+        this.approvalDeadlineMs = approvalDeadlineMs;
+        this.taskDeadlineMs = taskDeadlineMs;
+        this.batchSize = Math.max(1, batchSize);
+        this.retryDelayMs = retryDelayMs;
+        this.wheel = new TimingWheel<>(tickMs, bits, levels, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "sla-escalation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("sla.wheel.timers", wheel, TimingWheel::size)
+                .description("Pending items with an SLA timer")
+                .register(meterRegistry);
+        for (int level = 0; level < wheel.levels(); level++) {
+            int current = level;
+            Gauge.builder("sla.wheel.occupancy", wheel, w -> w.occupancy(current))
+                    .tag("level", String.valueOf(level))
+                    .description("Timers held in one level of the SLA timing wheel")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        rebuild();
+        ticker.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        ticker.shutdownNow();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onApprovalChanged(ApprovalChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Item item = new Item(Kind.APPROVAL, String.valueOf(event.id()));
+        if (event.status() == ApprovalStatus.PENDING) {
+            wheel.schedule(item, deadline(event.createdAt(), approvalDeadlineMs));
+        } else {
+            wheel.cancel(item);
+        }
+    }
+
+    /**
+     * The clock starts when a task enters PENDING; edits that keep it PENDING leave the timer alone.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Item item = new Item(Kind.TASK, event.id());
+        boolean pendingAfter = event.after() != null && event.after().status() == TaskStatus.PENDING;
+        boolean pendingBefore = event.before() != null && event.before().status() == TaskStatus.PENDING;
+        if (!pendingAfter) {
+            wheel.cancel(item);
+        } else if (!pendingBefore) {
+            wheel.schedule(item, System.currentTimeMillis() + taskDeadlineMs);
+        }
+    }
+
+    private void rebuild() {
+        int approvals = 0;
+        for (Object[] row : approvalRepository.findCreatedAtByStatus(ApprovalStatus.PENDING)) {
+            wheel.schedule(new Item(Kind.APPROVAL, String.valueOf(row[0])), deadline((LocalDateTime) row[1], approvalDeadlineMs));
+            approvals++;
+        }
+        int tasks = 0;
+        for (Object[] row : taskRepository.findStatusSince(TaskStatus.PENDING)) {
+            wheel.schedule(new Item(Kind.TASK, (String) row[0]), deadline((LocalDateTime) row[1], taskDeadlineMs));
+            tasks++;
+        }
+        log.info("SLA timers rebuilt for {} pending approvals and {} pending tasks", approvals, tasks);
+    }
+
+    void tick() {
+        try {
+            long now = System.currentTimeMillis();
+            List<TimingWheel.Expired<Item>> expired = wheel.advance(now);
+            if (expired.isEmpty()) {
+                return;
+            }
+            List<TimingWheel.Expired<Item>> approvals = new ArrayList<>();
+            List<TimingWheel.Expired<Item>> tasks = new ArrayList<>();
+            for (TimingWheel.Expired<Item> timer : expired) {
+                lateness(timer.key().kind()).record(Math.max(0, now - timer.deadlineMs()), TimeUnit.MILLISECONDS);
+                (timer.key().kind() == Kind.APPROVAL ? approvals : tasks).add(timer);
+            }
+            escalateInBatches(Kind.APPROVAL, approvals,
+                    ids -> approvalService.escalate(ids.stream().map(Long::valueOf).toList()).size());
+            escalateInBatches(Kind.TASK, tasks, ids -> taskService.escalate(ids).size());
+        } catch (RuntimeException e) {
+            log.error("SLA escalation tick failed", e);
+        }
+    }
+
+    private void escalateInBatches(Kind kind, List<TimingWheel.Expired<Item>> timers,
+                                   Function<Collection<String>, Integer> escalate) {
+        for (int from = 0; from < timers.size(); from += batchSize) {
+            List<TimingWheel.Expired<Item>> batch = timers.subList(from, Math.min(from + batchSize, timers.size()));
+            List<String> ids = batch.stream().map(timer -> timer.key().id()).toList();
+            try {
+                int escalated = escalate.apply(ids);
+                outcome(kind, "escalated").increment(escalated);
+                outcome(kind, "skipped").increment(ids.size() - escalated);
+            } catch (RuntimeException e) {
+                log.warn("Escalating {} {} items failed, retrying in {} ms: {}", ids.size(), kind, retryDelayMs, e.getMessage());
+                outcome(kind, "failed").increment(ids.size());
+                long retryAt = System.currentTimeMillis() + retryDelayMs;
+                for (TimingWheel.Expired<Item> timer : batch) {
+                    wheel.schedule(timer.key(), retryAt);
+                }
+            }
+        }
+    }
+
+    /**
+     * Items without a recorded start time get a full SLA from now.
+     */
+    private static long deadline(LocalDateTime since, long slaMs) {
+        long start = since != null
+                ? since.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : System.currentTimeMillis();
+        return start + slaMs;
+    }
+
+    private Timer lateness(Kind kind) {
+        return Timer.builder("sla.escalation.lateness")
+                .tag("kind", kind.name())
+                .description("How long after its deadline an SLA timer fired")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter outcome(Kind kind, String outcome) {
+        return Counter.builder("sla.escalations")
+                .tag("kind", kind.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
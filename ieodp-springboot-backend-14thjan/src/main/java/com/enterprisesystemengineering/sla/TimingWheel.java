@@ -0,0 +1,192 @@
+package com.enterprisesystemengineering.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by item. Level {@code L} has {@code 2^bits} slots of {@code 2^(bits*L)} ticks;
+ * a deadline goes to the lowest level whose revolution still covers it and moves down a level each time the
+ * cursor reaches its slot, so every timer is touched at most once per level.
+ * <p>
+ * {@link #schedule} and {@link #cancel} are O(1): slots are intrusive doubly linked lists and a map finds the
+ * node of a key. {@link #advance} costs one step per elapsed tick plus the timers it cascades or expires.
+ * All methods are synchronized; callers are request threads (schedule/cancel) and one ticking thread.
+ */
+final class TimingWheel<K> {
+
+    /**
+     * A timer that came due: its key and the deadline it was scheduled for.
+     */
+    record Expired<K>(K key, long deadlineMs) {
+    }
+
+    private final long tickMs;
+    private final int bits;
+    private final long mask;
+    private final Node<K>[][] slots;
+    private final int[] occupancy;
+    private final Map<K, Node<K>> nodes = new HashMap<>();
+    private final List<Node<K>> due = new ArrayList<>();
+
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    TimingWheel(long tickMs, int bits, int levels, long startMs) {
+        if (tickMs <= 0 || bits <= 0 || levels <= 0 || (long) bits * levels >= 62) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMs = tickMs;
+        this.bits = bits;
+        this.mask = (1L << bits) - 1;
+        this.slots = new Node[levels][1 << bits];
+        this.occupancy = new int[levels];
+        this.currentTick = startMs / tickMs;
+    }
+
+    /**
+     * Sets the deadline of {@code key}, replacing any earlier one. A deadline already past fires on the next advance.
+     */
+    synchronized void schedule(K key, long deadlineMs) {
+        remove(nodes.get(key));
+        Node<K> node = new Node<>(key, deadlineMs, Math.floorDiv(deadlineMs, tickMs));
+        nodes.put(key, node);
+        place(node);
+    }
+
+    synchronized boolean cancel(K key) {
+        Node<K> node = nodes.get(key);
+        if (node == null) {
+            return false;
+        }
+        remove(node);
+        return true;
+    }
+
+    /**
+     * Moves the cursor to {@code nowMs} and returns the timers that came due, in firing order.
+     */
+    synchronized List<Expired<K>> advance(long nowMs) {
+        List<Expired<K>> expired = new ArrayList<>();
+        drainDue(expired);
+        long target = Math.floorDiv(nowMs, tickMs);
+        while (currentTick < target) {
+            currentTick++;
+            for (int level = 1; level < slots.length; level++) {
+                long span = 1L << (bits * level);
+                if ((currentTick & (span - 1)) != 0) {
+                    break;
+                }
+                cascade(level, (int) ((currentTick >>> (bits * level)) & mask));
+            }
+            int slot = (int) (currentTick & mask);
+            Node<K> node = slots[0][slot];
+            while (node != null) {
+                Node<K> next = node.next;
+                unlink(node);
+                due.add(node);
+                node = next;
+            }
+            drainDue(expired);
+        }
+        return expired;
+    }
+
+    synchronized int size() {
+        return nodes.size();
+    }
+
+    synchronized int occupancy(int level) {
+        return occupancy[level];
+    }
+
+    int levels() {
+        return slots.length;
+    }
+
+    private void cascade(int level, int slot) {
+        Node<K> node = slots[level][slot];
+        while (node != null) {
+            Node<K> next = node.next;
+            unlink(node);
+            place(node);
+            node = next;
+        }
+    }
+
+    private void place(Node<K> node) {
+        long delta = node.expiryTick - currentTick;
+        if (delta <= 0) {
+            node.level = -1;
+            due.add(node);
+            return;
+        }
+        int level = 0;
+        while (level < slots.length - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((node.expiryTick >>> (bits * level)) & mask);
+        node.level = level;
+        node.slot = slot;
+        node.prev = null;
+        node.next = slots[level][slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        slots[level][slot] = node;
+        occupancy[level]++;
+    }
+
+    private void drainDue(List<Expired<K>> expired) {
+        for (Node<K> node : due) {
+            // skip timers cancelled or rescheduled after they came due
+            if (nodes.get(node.key) == node) {
+                nodes.remove(node.key);
+                expired.add(new Expired<>(node.key, node.deadlineMs));
+            }
+        }
+        due.clear();
+    }
+
+    private void remove(Node<K> node) {
+        if (node == null) {
+            return;
+        }
+        nodes.remove(node.key);
+        if (node.level >= 0) {
+            unlink(node);
+        }
+    }
+
+    private void unlink(Node<K> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            slots[node.level][node.slot] = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        occupancy[node.level]--;
+        node.prev = null;
+        node.next = null;
+        node.level = -1;
+    }
+
+    private static final class Node<K> {
+        final K key;
+        final long deadlineMs;
+        final long expiryTick;
+        int level = -1;
+        int slot;
+        Node<K> prev;
+        Node<K> next;
+
+        Node(K key, long deadlineMs, long expiryTick) {
+            this.key = key;
+            this.deadlineMs = deadlineMs;
+            this.expiryTick = expiryTick;
+        }
+    }
+}
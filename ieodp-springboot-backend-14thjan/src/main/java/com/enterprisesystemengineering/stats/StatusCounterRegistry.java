@@ -0,0 +1,91 @@
+package com.enterprisesystemengineering.stats;
+
+import com.enterprisesystemengineering.cache.ReconciledView;
+import com.enterprisesystemengineering.dto.StatusStats;
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.task.TaskChangedEvent;
+import com.enterprisesystemengineering.task.TaskRepository;
+import com.enterprisesystemengineering.task.TaskStatus;
+import com.enterprisesystemengineering.workflow.WorkflowChangedEvent;
+import com.enterprisesystemengineering.workflow.WorkflowRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process workflow and task counts for the dashboard, updated from committed change events.
+ * Seeded at startup and rebuilt on a schedule through {@link ReconciledView}. Every change sets an entity's
+ * current (key, status), so replaying one the rebuild query already saw leaves the counts unchanged.
+ */
+@Component
+public class StatusCounterRegistry {
+
+    private final ReconciledView<StatusCounters<WorkflowStatus>> workflowsByType;
+    private final ReconciledView<StatusCounters<TaskStatus>> tasksByAssignee;
+
+    public StatusCounterRegistry(WorkflowRepository workflowRepository, TaskRepository taskRepository) {
+        this.workflowsByType = new ReconciledView<>("workflow status counters", new StatusCounters<>(WorkflowStatus.class),
+                () -> load(workflowRepository.findTypeAndStatus(), WorkflowStatus.class));
+        this.tasksByAssignee = new ReconciledView<>("task status counters", new StatusCounters<>(TaskStatus.class),
+                () -> load(taskRepository.findAssigneeAndStatus(), TaskStatus.class));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onWorkflowChanged(WorkflowChangedEvent event) {
+        WorkflowChangedEvent.State after = event.after();
+        workflowsByType.apply(counters -> counters.set(event.id(),
+                after != null ? after.type() : null, after != null ? after.status() : null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskChangedEvent.State after = event.after();
+        tasksByAssignee.apply(counters -> counters.set(event.id(),
+                after != null ? after.assignedTo() : null, after != null ? after.status() : null));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        workflowsByType.seed();
+        tasksByAssignee.seed();
+    }
+
+    @Scheduled(fixedDelayString = "${stats.reconcile-interval-ms:300000}",
+            initialDelayString = "${stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        workflowsByType.rebuild();
+        tasksByAssignee.rebuild();
+    }
+
+    public StatusStats workflowStats(boolean byType) {
+        StatusCounters<WorkflowStatus> counters = workflowsByType.get();
+        return new StatusStats(counters.total(), counters.byStatus(), byType ? counters.breakdown() : null);
+    }
+
+    public StatusStats taskStats(boolean byAssignee) {
+        StatusCounters<TaskStatus> counters = tasksByAssignee.get();
+        return new StatusStats(counters.total(), counters.byStatus(), byAssignee ? counters.breakdown() : null);
+    }
+
+    public Map<String, Long> taskStatsForAssignee(String assignedTo) {
+        return tasksByAssignee.get().byStatus(assignedTo);
+    }
+
+    public StatusStats taskStats(String assignedTo) {
+        Map<String, Long> byStatus = taskStatsForAssignee(assignedTo);
+        return new StatusStats(byStatus.values().stream().mapToLong(Long::longValue).sum(), byStatus, null);
+    }
+
+    private static <S extends Enum<S>> StatusCounters<S> load(List<Object[]> rows, Class<S> statusType) {
+        StatusCounters<S> counters = new StatusCounters<>(statusType);
+        for (Object[] row : rows) {
+            counters.set((String) row[0], (String) row[1], statusType.cast(row[2]));
+        }
+        return counters;
+    }
+}
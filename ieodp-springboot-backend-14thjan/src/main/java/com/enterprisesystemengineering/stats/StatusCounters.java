@@ -0,0 +1,92 @@
+package com.enterprisesystemengineering.stats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-status counts indexed by enum ordinal, overall and broken down by one key (type, assignee, ...).
+ * Each entity's current key and status is kept, so an update sets state rather than adding a delta and
+ * applying the same change twice counts it once. A reconcile builds a new instance rather than resetting this one.
+ */
+final class StatusCounters<S extends Enum<S>> {
+
+    static final String NO_KEY = "(none)";
+
+    private final S[] statuses;
+    private final AtomicLongArray totals;
+    private final ConcurrentHashMap<String, AtomicLongArray> byKey = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counted<S>> entities = new ConcurrentHashMap<>();
+
+    StatusCounters(Class<S> statusType) {
+        this.statuses = statusType.getEnumConstants();
+        this.totals = new AtomicLongArray(statuses.length);
+    }
+
+    /**
+     * Records that entity {@code id} now has {@code key} and {@code status}; a null status means it is gone.
+     * The move is atomic per entity and a no-op when nothing changed.
+     */
+    void set(String id, String key, S status) {
+        entities.compute(id, (k, previous) -> {
+            AtomicLongArray counts = status == null ? null
+                    : byKey.computeIfAbsent(normalize(key), n -> new AtomicLongArray(statuses.length));
+            if (previous != null && previous.counts() == counts && previous.status() == status) {
+                return previous;
+            }
+            if (previous != null) {
+                totals.decrementAndGet(previous.status().ordinal());
+                previous.counts().decrementAndGet(previous.status().ordinal());
+            }
+            if (counts == null) {
+                return null;
+            }
+            totals.incrementAndGet(status.ordinal());
+            counts.incrementAndGet(status.ordinal());
+            return new Counted<>(counts, status);
+        });
+    }
+
+    long total() {
+        long sum = 0;
+        for (int i = 0; i < totals.length(); i++) {
+            sum += totals.get(i);
+        }
+        return sum;
+    }
+
+    Map<String, Long> byStatus() {
+        return toMap(totals);
+    }
+
+    Map<String, Long> byStatus(String key) {
+        AtomicLongArray counts = byKey.get(normalize(key));
+        return counts != null ? toMap(counts) : toMap(new AtomicLongArray(statuses.length));
+    }
+
+    Map<String, Map<String, Long>> breakdown() {
+        Map<String, Map<String, Long>> breakdown = new TreeMap<>();
+        byKey.forEach((key, counts) -> breakdown.put(key, toMap(counts)));
+        return breakdown;
+    }
+
+    private Map<String, Long> toMap(AtomicLongArray counts) {
+        Map<String, Long> map = new LinkedHashMap<>();
+        for (S status : statuses) {
+            map.put(status.name(), counts.get(status.ordinal()));
+        }
+        return map;
+    }
+
+    private static String normalize(String key) {
+        return key == null || key.isEmpty() ? NO_KEY : key;
+    }
+
+    /**
+     * Where one entity is counted: the counts of its key and its status.
+     */
+    private record Counted<T extends Enum<T>>(AtomicLongArray counts, T status) {
+    }
+}
@@ -1,18 +1,29 @@
 package com.enterprisesystemengineering.workflow;
 
+import com.enterprisesystemengineering.cache.EntityCacheConfig;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.enterprisesystemengineering.enums.WorkflowStatus;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "workflows")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = EntityCacheConfig.WORKFLOWS)
+@Table(name = "workflows", indexes = {
+        @Index(name = "idx_workflows_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_workflows_status_created_at_id", columnList = "status, created_at, id"),
+        @Index(name = "idx_workflows_type_created_at_id", columnList = "type, created_at, id"),
+        @Index(name = "idx_workflows_created_by_created_at_id", columnList = "created_by, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Workflow {
 
     @Id
@@ -41,6 +52,12 @@ public class Workflow {
     @JsonProperty("createdAt")
     private LocalDateTime createdAt;
 
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    @JsonProperty("version")
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         this.createdAt = LocalDateTime.now();
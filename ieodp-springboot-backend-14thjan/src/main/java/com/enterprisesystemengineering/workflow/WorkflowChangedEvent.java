@@ -0,0 +1,33 @@
+package com.enterprisesystemengineering.workflow;
+
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+
+/**
+ * Published by {@link WorkflowService} for every create, update and delete.
+ * {@code before} is null on create and {@code after} is null on delete.
+ * Listeners that keep derived state should use {@code @TransactionalEventListener} so they only see committed changes.
+ */
+public record WorkflowChangedEvent(String id, State before, State after) {
+
+    public static WorkflowChangedEvent created(Workflow workflow) {
+        return new WorkflowChangedEvent(workflow.getId(), null, State.of(workflow));
+    }
+
+    public static WorkflowChangedEvent updated(State before, Workflow workflow) {
+        return new WorkflowChangedEvent(workflow.getId(), before, State.of(workflow));
+    }
+
+    public static WorkflowChangedEvent deleted(Workflow workflow) {
+        return new WorkflowChangedEvent(workflow.getId(), State.of(workflow), null);
+    }
+
+    /**
+     * The fields derived views are keyed on, copied so later entity changes do not leak in.
+     */
+    public record State(WorkflowStatus status, String type, String createdBy) {
+
+        public static State of(Workflow workflow) {
+            return new State(workflow.getStatus(), workflow.getType(), workflow.getCreatedBy());
+        }
+    }
+}
@@ -1,24 +1,47 @@
 package com.enterprisesystemengineering.workflow;
 
+import com.enterprisesystemengineering.cache.EntityCache;
+import com.enterprisesystemengineering.cache.VersionStamps;
+import com.enterprisesystemengineering.dto.BatchItemResult;
+import com.enterprisesystemengineering.dto.BulkStatusTransition;
+import com.enterprisesystemengineering.dto.BulkTransitionResult;
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.dto.StatusStats;
+import com.enterprisesystemengineering.dto.WorkflowDetail;
 import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.stats.StatusCounterRegistry;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/workflows")
 public class WorkflowController {
 
+    static final String HAS_MORE_HEADER = "X-Has-More";
+
     private final WorkflowService service;
-    private final WorkflowRepository repository;
+    private final StatusCounterRegistry statusCounters;
+    private final WorkflowDetailService detailService;
+    private final EntityCache<Workflow> workflowCache;
+    private final VersionStamps versionStamps;
 
-    public WorkflowController(WorkflowService service, WorkflowRepository repository) {
+    public WorkflowController(WorkflowService service, StatusCounterRegistry statusCounters,
+                              WorkflowDetailService detailService, EntityCache<Workflow> workflowCache,
+                              VersionStamps versionStamps) {
         this.service = service;
-        this.repository = repository;
+        this.statusCounters = statusCounters;
+        this.detailService = detailService;
+        this.workflowCache = workflowCache;
+        this.versionStamps = versionStamps;
     }
 
     @PostMapping
@@ -27,18 +50,94 @@ public class WorkflowController {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.createWorkflow(workflow));
     }
 
+    /**
+     * POST /workflows/batch - Create many workflows in one request
+     * Returns one result per submitted item, in request order
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS')")
+    public ResponseEntity<List<BatchItemResult>> createWorkflows(@RequestBody List<Workflow> workflows) {
+        return ResponseEntity.ok(service.createWorkflows(workflows));
+    }
+
+    /**
+     * GET /workflows - Newest workflows, at most limit (capped at 200)
+     * When more exist the response carries X-Has-More: true and a Link rel="next" header pointing at
+     * /workflows/cursor with the cursor that continues the listing
+     * Answers 304 without querying when If-None-Match carries the current ETag
+     */
     @GetMapping
     public ResponseEntity<List<Workflow>> getAll(
+            @RequestParam(defaultValue = "200") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        ResponseEntity<CursorPage<Workflow>> newest = versionStamps.respond(ifNoneMatch,
+                versionStamps.collectionTag(VersionStamps.WORKFLOWS), () -> service.getNewest(limit));
+        HttpHeaders headers = new HttpHeaders();
+        headers.addAll(newest.getHeaders());
+        CursorPage<Workflow> page = newest.getBody();
+        if (page == null) {
+            return ResponseEntity.status(newest.getStatusCode()).headers(headers).build();
+        }
+        headers.set(HAS_MORE_HEADER, String.valueOf(page.isHasNext()));
+        if (page.isHasNext()) {
+            String next = ServletUriComponentsBuilder.fromCurrentContextPath()
+                    .path("/workflows/cursor")
+                    .queryParam("cursor", page.getNextCursor())
+                    .queryParam("size", page.getSize())
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    /**
+     * GET /workflows/cursor - Keyset page, newest first, without a total count
+     * Pass the returned nextCursor to fetch the following page; all filters are optional and
+     * createdFrom/createdTo are ISO date-times (from inclusive, to exclusive)
+     */
+    @GetMapping("/cursor")
+    public ResponseEntity<CursorPage<Workflow>> getWorkflowSlice(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) WorkflowStatus status,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        return ResponseEntity.ok(service.getAll());
+        return ResponseEntity.ok(service.getSlice(cursor, size, status, type, createdBy, createdFrom, createdTo));
+    }
+
+    /**
+     * GET /workflows/stats - Workflow counts per status from in-memory counters
+     * byType=true adds a per-type breakdown
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<StatusStats> getStats(
+            @RequestParam(defaultValue = "false") boolean byType,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return ResponseEntity.ok(statusCounters.workflowStats(byType));
     }
 
     @GetMapping("/{id}")
     @PreAuthorize("isAuthenticated()")
-    public ResponseEntity<Workflow> getWorkflowById(@PathVariable String id) {
-        Workflow workflow = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Workflow not found"));
-        return ResponseEntity.ok(workflow);
+    public ResponseEntity<Workflow> getWorkflowById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return versionStamps.respond(ifNoneMatch, versionStamps.entityTag(VersionStamps.WORKFLOWS, id),
+                () -> workflowCache.findById(id).orElseThrow(() -> new RuntimeException("Workflow not found")));
+    }
+
+    /**
+     * GET /workflows/{id}/full - Workflow with its tasks, AI insights and audit history
+     * Parts that time out are omitted and listed under "unavailable"
+     */
+    @GetMapping("/{id}/full")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<WorkflowDetail> getWorkflowDetail(@PathVariable String id) {
+        return ResponseEntity.ok(detailService.getDetail(id));
     }
 
     @PutMapping("/{id}")
@@ -46,14 +145,7 @@ public class WorkflowController {
             @PathVariable String id, 
             @Valid @RequestBody Workflow workflowDetails,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Workflow workflow = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Workflow not found"));
-        
-        workflow.setName(workflowDetails.getName());
-        workflow.setType(workflowDetails.getType());
-        workflow.setStatus(workflowDetails.getStatus());
-        
-        return ResponseEntity.ok(repository.save(workflow));
+        return ResponseEntity.ok(service.updateWorkflow(id, workflowDetails));
     }
 
     @PatchMapping("/{id}")
@@ -61,20 +153,7 @@ public class WorkflowController {
             @PathVariable String id,
             @RequestBody java.util.Map<String, Object> updates,
             @RequestHeader(value = "Authorization", required = false) String authHeader) {
-        Workflow workflow = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Workflow not found"));
-        
-        if (updates.containsKey("status")) {
-            workflow.setStatus(WorkflowStatus.valueOf(updates.get("status").toString()));
-        }
-        if (updates.containsKey("name")) {
-            workflow.setName(updates.get("name").toString());
-        }
-        if (updates.containsKey("type")) {
-            workflow.setType(updates.get("type").toString());
-        }
-        
-        return ResponseEntity.ok(repository.save(workflow));
+        return ResponseEntity.ok(service.patchWorkflow(id, updates));
     }
 
     @PatchMapping("/{id}/status")
@@ -85,6 +164,18 @@ public class WorkflowController {
         return ResponseEntity.ok(service.updateStatus(id, status));
     }
 
+    /**
+     * PATCH /workflows/bulk/status - Move many workflows from one status to another
+     * Body: {"ids": [...], "from": "REVIEW", "to": "APPROVED"}
+     */
+    @PatchMapping("/bulk/status")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGEMENT', 'OPERATIONS', 'LEADERSHIP')")
+    public ResponseEntity<BulkTransitionResult> bulkUpdateStatus(
+            @RequestBody BulkStatusTransition<WorkflowStatus> request,
+            @RequestHeader(value = "Authorization", required = false) String authHeader) {
+        return ResponseEntity.ok(service.transitionStatus(request));
+    }
+
     @GetMapping("/status/{status}")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<List<Workflow>> getByStatus(@PathVariable WorkflowStatus status) {
@@ -0,0 +1,225 @@
+package com.enterprisesystemengineering.workflow;
+
+import com.enterprisesystemengineering.aiinsight.AiInsight;
+import com.enterprisesystemengineering.aiinsight.AiInsightService;
+import com.enterprisesystemengineering.audit.AuditLog;
+import com.enterprisesystemengineering.audit.AuditRepository;
+import com.enterprisesystemengineering.cache.EntityCache;
+import com.enterprisesystemengineering.dto.WorkflowDetail;
+import com.enterprisesystemengineering.task.Task;
+import com.enterprisesystemengineering.task.TaskService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the workflow process page in one call. The workflow, its tasks, AI insights and audit history
+ * are loaded concurrently on a bounded pool, so the response takes about as long as the slowest query.
+ * Each part has its own timeout; a part that fails, times out or cannot be scheduled is left out and
+ * reported in {@link WorkflowDetail#getUnavailable()} instead of failing the whole page.
+ * A part runs in a read-only transaction whose timeout is passed to its JDBC queries, and a timed-out
+ * part is also cancelled, so the database stops working on an answer nobody waits for.
+ */
+@Service
+public class WorkflowDetailService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkflowDetailService.class);
+    private static final Set<String> INSIGHT_ROLES = Set.of("ROLE_ADMIN", "ROLE_MANAGEMENT", "ROLE_LEADERSHIP");
+
+    private final EntityCache<Workflow> workflowCache;
+    private final TaskService taskService;
+    private final AiInsightService aiInsightService;
+    private final AuditRepository auditRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+
+    private final long workflowTimeoutMs;
+    private final long tasksTimeoutMs;
+    private final long aiInsightsTimeoutMs;
+    private final long auditHistoryTimeoutMs;
+    private final int auditHistoryLimit;
+
+    public WorkflowDetailService(
+            EntityCache<Workflow> workflowCache,
+            TaskService taskService,
+            AiInsightService aiInsightService,
+            AuditRepository auditRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${workflow.detail.max-concurrency:64}") int maxConcurrency,
+            @Value("${workflow.detail.queue-capacity:256}") int queueCapacity,
+            @Value("${workflow.detail.workflow-timeout-ms:2000}") long workflowTimeoutMs,
+            @Value("${workflow.detail.tasks-timeout-ms:2000}") long tasksTimeoutMs,
+            @Value("${workflow.detail.ai-insights-timeout-ms:2000}") long aiInsightsTimeoutMs,
+            @Value("${workflow.detail.audit-history-timeout-ms:3000}") long auditHistoryTimeoutMs,
+            @Value("${workflow.detail.audit-history-limit:50}") int auditHistoryLimit) {
+        this.workflowCache = workflowCache;
+        this.taskService = taskService;
+        this.aiInsightService = aiInsightService;
+        this.auditRepository = auditRepository;
+        this.transactionManager = transactionManager;
+        this.meterRegistry = meterRegistry;
+        this.workflowTimeoutMs = workflowTimeoutMs;
+        this.tasksTimeoutMs = tasksTimeoutMs;
+        this.aiInsightsTimeoutMs = aiInsightsTimeoutMs;
+        this.auditHistoryTimeoutMs = auditHistoryTimeoutMs;
+        this.auditHistoryLimit = auditHistoryLimit;
+
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency, 30L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    public WorkflowDetail getDetail(String id) {
+        boolean includeInsights = hasAnyRole(INSIGHT_ROLES);
+
+        CompletableFuture<Optional<Workflow>> workflow = fetch("workflow", workflowTimeoutMs,
+                () -> workflowCache.findById(id));
+        CompletableFuture<List<Task>> tasks = fetch("tasks", tasksTimeoutMs,
+                () -> taskService.getByWorkflow(id));
+        CompletableFuture<List<AiInsight>> aiInsights = includeInsights
+                ? fetch("aiInsights", aiInsightsTimeoutMs, () -> aiInsightService.getByWorkflow(id))
+                : CompletableFuture.completedFuture(null);
+        CompletableFuture<List<AuditLog>> auditHistory = fetch("auditHistory", auditHistoryTimeoutMs,
+                () -> auditRepository.findHistory("Workflow", id, PageRequest.of(0, auditHistoryLimit)));
+
+        CompletableFuture.allOf(workflow, tasks, aiInsights, auditHistory).join();
+
+        List<String> unavailable = new ArrayList<>();
+        Optional<Workflow> loaded = part("workflow", workflow, unavailable);
+        if (loaded != null && loaded.isEmpty()) {
+            throw new RuntimeException("Workflow not found with id: " + id);
+        }
+        return new WorkflowDetail(
+                loaded != null ? loaded.get() : null,
+                part("tasks", tasks, unavailable),
+                includeInsights ? part("aiInsights", aiInsights, unavailable) : null,
+                part("auditHistory", auditHistory, unavailable),
+                unavailable.isEmpty() ? null : unavailable);
+    }
+
+    /**
+     * Schedules one part; a failure, timeout or rejected submission completes it with null.
+     */
+    private <T> CompletableFuture<T> fetch(String name, long timeoutMs, Supplier<T> query) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionTemplate transaction = readOnlyTransaction(timeoutMs);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> running = null;
+        try {
+            running = executor.submit(() -> {
+                try {
+                    future.complete(transaction.execute(status -> query.get()));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+        Future<?> task = running;
+        return future
+                .orTimeout(timeoutMs, TimeUnit.MILLISECONDS)
+                .handle((result, error) -> {
+                    if (error instanceof TimeoutException && task != null) {
+                        task.cancel(true);
+                    }
+                    sample.stop(Timer.builder("workflow.detail.part")
+                            .tag("part", name)
+                            .tag("outcome", error == null ? "success" : "unavailable")
+                            .register(meterRegistry));
+                    if (error != null) {
+                        log.warn("Workflow detail part {} unavailable: {}", name, error.toString());
+                        return null;
+                    }
+                    return result;
+                });
+    }
+
+    private <T> T part(String name, CompletableFuture<T> future, List<String> unavailable) {
+        T value = future.join();
+        if (value == null) {
+            unavailable.add(name);
+            Counter.builder("workflow.detail.unavailable")
+                    .tag("part", name)
+                    .description("Workflow detail parts left out because they failed or timed out")
+                    .register(meterRegistry)
+                    .increment();
+        }
+        return value;
+    }
+
+    /**
+     * JDBC query timeouts are whole seconds, so the transaction deadline is the part timeout rounded up.
+     */
+    private TransactionTemplate readOnlyTransaction(long timeoutMs) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.setTimeout((int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(timeoutMs + 999)));
+        return transaction;
+    }
+
+    private static boolean hasAnyRole(Set<String> roles) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return false;
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (roles.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Virtual threads when the runtime has them (Java 21+), otherwise daemon platform threads.
+     * Either way the pool size bounds how many queries run at once.
+     */
+    private static ThreadFactory threadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "workflow-detail-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            AtomicInteger sequence = new AtomicInteger();
+            return task -> {
+                Thread thread = new Thread(task, "workflow-detail-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
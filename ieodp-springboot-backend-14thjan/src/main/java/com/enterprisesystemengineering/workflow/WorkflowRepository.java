@@ -1,12 +1,54 @@
 package com.enterprisesystemengineering.workflow;
 
 import com.enterprisesystemengineering.enums.WorkflowStatus;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface WorkflowRepository extends JpaRepository<Workflow, String> {
+public interface WorkflowRepository extends JpaRepository<Workflow, String>, JpaSpecificationExecutor<Workflow> {
     List<Workflow> findByCreatedBy(String userId);
     List<Workflow> findByStatus(WorkflowStatus status);
-}
 
+    @Query("select w.id, w.type, w.status from Workflow w")
+    List<Object[]> findTypeAndStatus();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Workflow> findByIdInAndStatus(Collection<String> ids, WorkflowStatus status);
+
+    /**
+     * Row lock that serializes changes to one workflow's task dependency graph.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from Workflow w where w.id = :id")
+    Optional<Workflow> lockById(@Param("id") String id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Workflow w set w.status = :to, w.version = w.version + 1 where w.id in :ids and w.status = :from")
+    int updateStatus(
+            @Param("ids") Collection<String> ids,
+            @Param("from") WorkflowStatus from,
+            @Param("to") WorkflowStatus to
+    );
+
+    /**
+     * Conditional status write: succeeds only if nobody changed the row since {@code version} was read
+     * and it is still in one of the {@code allowed} source statuses.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Workflow w set w.status = :to, w.version = w.version + 1 " +
+            "where w.id = :id and w.version = :version and w.status in :allowed")
+    int compareAndSetStatus(
+            @Param("id") String id,
+            @Param("version") Long version,
+            @Param("allowed") Collection<WorkflowStatus> allowed,
+            @Param("to") WorkflowStatus to
+    );
+}
@@ -1,29 +1,88 @@
 package com.enterprisesystemengineering.workflow;
 
 import com.enterprisesystemengineering.audit.AuditService;
+import com.enterprisesystemengineering.audit.AuditLog;
+import com.enterprisesystemengineering.audit.AuditStateCodec;
+import com.enterprisesystemengineering.dto.BatchItemResult;
+import com.enterprisesystemengineering.dto.BulkStatusTransition;
+import com.enterprisesystemengineering.dto.BulkTransitionResult;
+import com.enterprisesystemengineering.dto.CursorPage;
+import com.enterprisesystemengineering.dto.KeysetCursor;
 import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.exception.BadRequestException;
+import com.enterprisesystemengineering.exception.ConflictException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 @Transactional
 public class WorkflowService {
 
+    private static final Logger log = LoggerFactory.getLogger(WorkflowService.class);
+
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("id"));
+
     private final WorkflowRepository repository;
     private final AuditService auditService;
+    private final AuditStateCodec auditStateCodec;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher events;
+    private final WorkflowStateMachine stateMachine;
+    private final TransactionTemplate statusTransaction;
+    private final int batchChunkSize;
+    private final int batchMaxItems;
+    private final int bulkMaxIds;
+    private final int statusMaxAttempts;
+    private final long statusBackoffMs;
 
-    public WorkflowService(WorkflowRepository repository, AuditService auditService) {
+    public WorkflowService(WorkflowRepository repository, AuditService auditService, AuditStateCodec auditStateCodec,
+                           EntityManager entityManager, ApplicationEventPublisher events,
+                           WorkflowStateMachine stateMachine, PlatformTransactionManager transactionManager,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}") int batchChunkSize,
+                           @Value("${workflow.batch.max-items:5000}") int batchMaxItems,
+                           @Value("${bulk.transition.max-ids:1000}") int bulkMaxIds,
+                           @Value("${workflow.status-update.max-attempts:5}") int statusMaxAttempts,
+                           @Value("${workflow.status-update.backoff-ms:10}") long statusBackoffMs) {
         this.repository = repository;
         this.auditService = auditService;
+        this.auditStateCodec = auditStateCodec;
+        this.entityManager = entityManager;
+        this.events = events;
+        this.stateMachine = stateMachine;
+        this.statusTransaction = new TransactionTemplate(transactionManager);
+        this.batchChunkSize = batchChunkSize;
+        this.batchMaxItems = batchMaxItems;
+        this.bulkMaxIds = bulkMaxIds;
+        this.statusMaxAttempts = Math.max(1, statusMaxAttempts);
+        this.statusBackoffMs = statusBackoffMs;
     }
 
     public Workflow createWorkflow(Workflow workflow) {
         String userId = getCurrentUserId();
         workflow.setCreatedBy(userId);
+        workflow.setVersion(null);
         if (workflow.getStatus() == null) {
             workflow.setStatus(WorkflowStatus.CREATED);
         }
@@ -31,49 +90,319 @@ public class WorkflowService {
 
         String role = getCurrentUserRole();
         try {
-            auditService.log(userId, role, "CREATE_WORKFLOW", "Workflow", savedWorkflow.getId(), null, savedWorkflow.toString());
+            auditService.logSnapshot(userId, role, "CREATE_WORKFLOW", "Workflow", savedWorkflow.getId(), savedWorkflow);
         } catch (Exception e) {
             // Log error but don't fail the transaction
-            System.err.println("Failed to log audit: " + e.getMessage());
+            log.warn("Failed to log audit", e);
         }
 
+        events.publishEvent(WorkflowChangedEvent.created(savedWorkflow));
         return savedWorkflow;
     }
 
+    /**
+     * Creates many workflows in one transaction. Invalid items are reported and skipped; valid ones are
+     * inserted in chunks of the JDBC batch size, each chunk followed by one batch insert of its audit rows.
+     * The persistence context is cleared after every chunk so memory stays bounded.
+     */
+    public List<BatchItemResult> createWorkflows(List<Workflow> workflows) {
+        if (workflows.size() > batchMaxItems) {
+            throw new BadRequestException("Batch exceeds " + batchMaxItems + " workflows");
+        }
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+
+        List<BatchItemResult> results = new ArrayList<>(workflows.size());
+        List<Workflow> chunk = new ArrayList<>(batchChunkSize);
+        List<Integer> chunkIndexes = new ArrayList<>(batchChunkSize);
+        for (int i = 0; i < workflows.size(); i++) {
+            Workflow workflow = workflows.get(i);
+            String error = validateNew(workflow);
+            if (error != null) {
+                results.add(BatchItemResult.failed(i, null, error));
+                continue;
+            }
+            workflow.setId(null);
+            workflow.setVersion(null);
+            workflow.setCreatedBy(userId);
+            if (workflow.getStatus() == null) {
+                workflow.setStatus(WorkflowStatus.CREATED);
+            }
+            chunk.add(workflow);
+            chunkIndexes.add(i);
+            if (chunk.size() == batchChunkSize) {
+                persistChunk(chunk, chunkIndexes, userId, role, results);
+            }
+        }
+        persistChunk(chunk, chunkIndexes, userId, role, results);
+
+        results.sort((a, b) -> Integer.compare(a.getIndex(), b.getIndex()));
+        return results;
+    }
+
+    private void persistChunk(List<Workflow> chunk, List<Integer> indexes, String userId, String role,
+                              List<BatchItemResult> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<AuditLog> audits = new ArrayList<>(chunk.size());
+        for (Workflow workflow : chunk) {
+            entityManager.persist(workflow);
+        }
+        entityManager.flush();
+        for (int i = 0; i < chunk.size(); i++) {
+            Workflow workflow = chunk.get(i);
+            audits.add(auditService.snapshot(userId, role, "CREATE_WORKFLOW", "Workflow", workflow.getId(), workflow));
+            results.add(BatchItemResult.ok(indexes.get(i), workflow.getId()));
+            events.publishEvent(WorkflowChangedEvent.created(workflow));
+        }
+        auditService.logAll(audits);
+        entityManager.clear();
+        chunk.clear();
+        indexes.clear();
+    }
+
+    private static String validateNew(Workflow workflow) {
+        if (workflow == null) {
+            return "Workflow is required";
+        }
+        if (workflow.getName() == null || workflow.getName().isBlank()) {
+            return "name is required";
+        }
+        if (workflow.getType() == null || workflow.getType().isBlank()) {
+            return "type is required";
+        }
+        return null;
+    }
+
+    /**
+     * Newest workflows first, at most {@code limit} of them (capped at 200): the unfiltered first page of
+     * {@link #getSlice}, whose cursor continues the listing.
+     */
     @Transactional(readOnly = true)
-    public List<Workflow> getAll() {
-        return repository.findAll();
+    public CursorPage<Workflow> getNewest(int limit) {
+        return getSlice(null, limit, null, null, null, null, null);
     }
 
+    /**
+     * Keyset page of workflows, newest first, ordered by (createdAt, id) descending.
+     * Fetches one extra row to decide hasNext instead of running a COUNT(*).
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Workflow> getSlice(String cursor, int size, WorkflowStatus status, String type,
+                                         String createdBy, LocalDateTime createdFrom, LocalDateTime createdTo) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        KeysetCursor after = cursor == null || cursor.isEmpty() ? null : KeysetCursor.decode(cursor);
+
+        Specification<Workflow> spec = Specification.where(WorkflowSpecifications.hasStatus(status))
+                .and(WorkflowSpecifications.hasType(type))
+                .and(WorkflowSpecifications.createdBy(createdBy))
+                .and(WorkflowSpecifications.createdFrom(createdFrom))
+                .and(WorkflowSpecifications.createdBefore(createdTo))
+                .and(WorkflowSpecifications.after(after));
+
+        List<Workflow> rows = repository.findBy(spec, query -> query
+                .sortBy(KEYSET_ORDER)
+                .limit(pageSize + 1)
+                .all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<Workflow> content = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasNext) {
+            Workflow last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, pageSize, hasNext, nextCursor, null);
+    }
+
+    /**
+     * Moves a workflow to {@code status} with a conditional UPDATE on (id, version, allowed source status).
+     * A lost race re-reads the row in a fresh transaction and tries again with jittered exponential backoff;
+     * if the winner left the workflow in a status that no longer allows the move, the call fails with 409.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Workflow updateStatus(String id, WorkflowStatus status) {
+        for (int attempt = 1; ; attempt++) {
+            Workflow savedWorkflow = statusTransaction.execute(tx -> tryUpdateStatus(id, status));
+            if (savedWorkflow != null) {
+                return savedWorkflow;
+            }
+            if (attempt >= statusMaxAttempts) {
+                throw new ConflictException("Workflow " + id + " is being changed concurrently, retry later");
+            }
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * One attempt of {@link #updateStatus}; returns null when another writer got there first.
+     */
+    private Workflow tryUpdateStatus(String id, WorkflowStatus status) {
         Workflow wf = repository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + id));
-        
-        String oldState = wf.toString();
-        wf.setStatus(status);
+        stateMachine.check(wf.getType(), wf.getStatus(), status);
+        if (wf.getStatus() == status) {
+            return wf;
+        }
+
+        ObjectNode oldState = auditStateCodec.capture(wf);
+        WorkflowChangedEvent.State before = WorkflowChangedEvent.State.of(wf);
+        int updated = repository.compareAndSetStatus(id, wf.getVersion(),
+                stateMachine.allowedSources(wf.getType(), status), status);
+        if (updated == 0) {
+            return null;
+        }
+        Workflow savedWorkflow = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + id));
+
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        try {
+            auditService.logChange(userId, role, "UPDATE_WORKFLOW_STATUS", "Workflow", savedWorkflow.getId(), oldState, savedWorkflow);
+        } catch (Exception e) {
+            // Log error but don't fail the transaction
+            log.warn("Failed to log audit", e);
+        }
+
+        events.publishEvent(WorkflowChangedEvent.updated(before, savedWorkflow));
+        return savedWorkflow;
+    }
+
+    private void backoff(int attempt) {
+        if (statusBackoffMs <= 0) {
+            return;
+        }
+        long ceiling = statusBackoffMs << Math.min(attempt - 1, 10);
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying update of workflow");
+        }
+    }
+
+    /**
+     * Full update of name, type and status (PUT /workflows/{id}).
+     * A supplied version must match the stored one; the status change must be allowed for the new type.
+     */
+    public Workflow updateWorkflow(String id, Workflow details) {
+        Workflow wf = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + id));
+        checkVersion(wf, details.getVersion());
+        stateMachine.check(details.getType(), wf.getStatus(), details.getStatus());
+
+        ObjectNode oldState = auditStateCodec.capture(wf);
+        WorkflowChangedEvent.State before = WorkflowChangedEvent.State.of(wf);
+        wf.setName(details.getName());
+        wf.setType(details.getType());
+        wf.setStatus(details.getStatus());
+        return saveChange(wf, oldState, before);
+    }
+
+    /**
+     * Partial update of status, name and/or type (PATCH /workflows/{id}).
+     */
+    public Workflow patchWorkflow(String id, Map<String, Object> updates) {
+        Workflow wf = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + id));
+        if (updates.get("version") != null) {
+            checkVersion(wf, Long.valueOf(updates.get("version").toString()));
+        }
+
+        ObjectNode oldState = auditStateCodec.capture(wf);
+        WorkflowChangedEvent.State before = WorkflowChangedEvent.State.of(wf);
+        WorkflowStatus from = wf.getStatus();
+        if (updates.containsKey("status")) {
+            wf.setStatus(WorkflowStatus.valueOf(updates.get("status").toString()));
+        }
+        if (updates.containsKey("name")) {
+            wf.setName(updates.get("name").toString());
+        }
+        if (updates.containsKey("type")) {
+            wf.setType(updates.get("type").toString());
+        }
+        stateMachine.check(wf.getType(), from, wf.getStatus());
+        return saveChange(wf, oldState, before);
+    }
+
+    private static void checkVersion(Workflow wf, Long expected) {
+        if (expected != null && !expected.equals(wf.getVersion())) {
+            throw new ConflictException("Workflow " + wf.getId() + " has changed (version " + wf.getVersion()
+                    + ", expected " + expected + ")");
+        }
+    }
+
+    private Workflow saveChange(Workflow wf, ObjectNode oldState, WorkflowChangedEvent.State before) {
         Workflow savedWorkflow = repository.save(wf);
 
         String userId = getCurrentUserId();
         String role = getCurrentUserRole();
         try {
-            auditService.log(userId, role, "UPDATE_WORKFLOW_STATUS", "Workflow", savedWorkflow.getId(), oldState, savedWorkflow.toString());
+            auditService.logChange(userId, role, "UPDATE_WORKFLOW", "Workflow", savedWorkflow.getId(), oldState, savedWorkflow);
         } catch (Exception e) {
-             // Log error but don't fail the transaction
-             System.err.println("Failed to log audit: " + e.getMessage());
+            log.warn("Failed to log audit", e);
         }
 
+        events.publishEvent(WorkflowChangedEvent.updated(before, savedWorkflow));
         return savedWorkflow;
     }
 
+    /**
+     * Moves every listed workflow that is currently in {@code from} to {@code to} with one set-based UPDATE.
+     * Matching rows are locked first so the returned ids are exactly the ones that changed;
+     * their audit entries are written with one batch insert in the same transaction.
+     * Workflows whose type does not allow the transition are skipped.
+     */
+    public BulkTransitionResult transitionStatus(BulkStatusTransition<WorkflowStatus> request) {
+        if (request.getIds() == null || request.getFrom() == null || request.getTo() == null) {
+            throw new BadRequestException("ids, from and to are required");
+        }
+        Set<String> ids = new LinkedHashSet<>(request.getIds());
+        if (ids.size() > bulkMaxIds) {
+            throw new BadRequestException("Bulk transition exceeds " + bulkMaxIds + " ids");
+        }
+        if (ids.isEmpty() || request.getFrom() == request.getTo()) {
+            return new BulkTransitionResult(List.of(), new ArrayList<>(ids));
+        }
+
+        List<Workflow> matching = repository.findByIdInAndStatus(ids, request.getFrom());
+        String userId = getCurrentUserId();
+        String role = getCurrentUserRole();
+        List<String> transitioned = new ArrayList<>(matching.size());
+        List<AuditLog> audits = new ArrayList<>(matching.size());
+        List<WorkflowChangedEvent> changes = new ArrayList<>(matching.size());
+        for (Workflow wf : matching) {
+            if (!stateMachine.isAllowed(wf.getType(), request.getFrom(), request.getTo())) {
+                continue;
+            }
+            ObjectNode before = auditStateCodec.capture(wf);
+            ObjectNode after = before.deepCopy();
+            after.put("status", request.getTo().name());
+            audits.add(auditService.change(userId, role, "UPDATE_WORKFLOW_STATUS", "Workflow", wf.getId(), before, after));
+            transitioned.add(wf.getId());
+            changes.add(new WorkflowChangedEvent(wf.getId(), WorkflowChangedEvent.State.of(wf),
+                    new WorkflowChangedEvent.State(request.getTo(), wf.getType(), wf.getCreatedBy())));
+        }
+        if (!transitioned.isEmpty()) {
+            repository.updateStatus(transitioned, request.getFrom(), request.getTo());
+            auditService.logAll(audits);
+            changes.forEach(events::publishEvent);
+        }
+
+        Set<String> skipped = new LinkedHashSet<>(ids);
+        transitioned.forEach(skipped::remove);
+        return new BulkTransitionResult(transitioned, new ArrayList<>(skipped));
+    }
+
     @Transactional(readOnly = true)
     public List<Workflow> getByStatus(WorkflowStatus status) {
         return repository.findByStatus(status);
     }
 
     public void deleteWorkflow(String id) {
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Workflow not found with id: " + id);
-        }
+        Workflow workflow = repository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Workflow not found with id: " + id));
         
         // Log deletion before actual delete to capture state if needed, or just log the action
         String userId = getCurrentUserId();
@@ -81,10 +410,11 @@ public class WorkflowService {
         try {
             auditService.log(userId, role, "DELETE_WORKFLOW", "Workflow", id, "EXISTING", "DELETED");
         } catch (Exception e) {
-            System.err.println("Failed to log audit: " + e.getMessage());
+            log.warn("Failed to log audit", e);
         }
 
-        repository.deleteById(id);
+        repository.delete(workflow);
+        events.publishEvent(WorkflowChangedEvent.deleted(workflow));
     }
 
     private String getCurrentUserId() {
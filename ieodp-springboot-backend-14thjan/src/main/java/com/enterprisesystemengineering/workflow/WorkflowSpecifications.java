@@ -0,0 +1,47 @@
+package com.enterprisesystemengineering.workflow;
+
+import com.enterprisesystemengineering.dto.KeysetCursor;
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filters for the keyset workflow listing. Each returns null when its argument is absent,
+ * which {@link Specification#where} and {@code and} treat as "no condition".
+ */
+final class WorkflowSpecifications {
+
+    private WorkflowSpecifications() {
+    }
+
+    static Specification<Workflow> hasStatus(WorkflowStatus status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    static Specification<Workflow> hasType(String type) {
+        return type == null || type.isEmpty() ? null : (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    static Specification<Workflow> createdBy(String createdBy) {
+        return createdBy == null || createdBy.isEmpty() ? null : (root, query, cb) -> cb.equal(root.get("createdBy"), createdBy);
+    }
+
+    static Specification<Workflow> createdFrom(LocalDateTime from) {
+        return from == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+    }
+
+    static Specification<Workflow> createdBefore(LocalDateTime to) {
+        return to == null ? null : (root, query, cb) -> cb.lessThan(root.get("createdAt"), to);
+    }
+
+    /**
+     * Rows after the cursor in (createdAt desc, id desc) order.
+     */
+    static Specification<Workflow> after(KeysetCursor cursor) {
+        return cursor == null ? null : (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.timestamp()),
+                cb.and(cb.equal(root.get("createdAt"), cursor.timestamp()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
+}
@@ -0,0 +1,149 @@
+package com.enterprisesystemengineering.workflow;
+
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.exception.ConflictException;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allowed {@link WorkflowStatus} transitions, precomputed as one bitmask of target ordinals per source status.
+ * By default every transition is allowed, as before the state machine existed; {@code workflow.strict-transitions=true}
+ * switches the base table to the built-in lifecycle (draft, review, decision, completion, reopening).
+ * {@code workflow.transitions.<type>.<FROM>=TO,TO} replaces the targets of one source status for one type
+ * ({@code default} as type changes the base table). Staying in the same status is always allowed.
+ */
+@Component
+public class WorkflowStateMachine {
+
+    static final String DEFAULT_TYPE = "default";
+
+    private static final WorkflowStatus[] STATUSES = WorkflowStatus.values();
+
+    private final long[] defaultTable;
+    private final Map<String, long[]> tablesByType = new HashMap<>();
+
+    public WorkflowStateMachine(Environment environment) {
+        Bindable<Map<String, Map<String, String>>> bindable = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class),
+                ResolvableType.forClassWithGenerics(Map.class, String.class, String.class)));
+        Map<String, Map<String, String>> overrides = Binder.get(environment)
+                .bind("workflow.transitions", bindable)
+                .orElse(Map.of());
+
+        boolean strict = environment.getProperty("workflow.strict-transitions", Boolean.class, false);
+        long[] base = strict ? builtInTable() : permissiveTable();
+        Map<String, String> defaultOverrides = overrides.get(DEFAULT_TYPE);
+        if (defaultOverrides != null) {
+            applyOverrides(base, defaultOverrides);
+        }
+        this.defaultTable = base;
+
+        overrides.forEach((type, targets) -> {
+            if (!DEFAULT_TYPE.equals(type)) {
+                long[] table = defaultTable.clone();
+                applyOverrides(table, targets);
+                tablesByType.put(type, table);
+            }
+        });
+    }
+
+    public boolean isAllowed(String type, WorkflowStatus from, WorkflowStatus to) {
+        if (to == null) {
+            return false;
+        }
+        if (from == to || from == null) {
+            return true;
+        }
+        return (table(type)[from.ordinal()] & (1L << to.ordinal())) != 0;
+    }
+
+    /**
+     * @throws ConflictException when the workflow type does not allow moving from {@code from} to {@code to}
+     */
+    public void check(String type, WorkflowStatus from, WorkflowStatus to) {
+        if (!isAllowed(type, from, to)) {
+            throw new ConflictException("Workflow cannot move from " + from + " to " + to);
+        }
+    }
+
+    /**
+     * Every status a workflow of this type may be in to move to {@code to}, including {@code to} itself.
+     */
+    public List<WorkflowStatus> allowedSources(String type, WorkflowStatus to) {
+        long[] table = table(type);
+        long bit = 1L << to.ordinal();
+        List<WorkflowStatus> sources = new ArrayList<>(STATUSES.length);
+        for (WorkflowStatus from : STATUSES) {
+            if (from == to || (table[from.ordinal()] & bit) != 0) {
+                sources.add(from);
+            }
+        }
+        return sources;
+    }
+
+    public EnumSet<WorkflowStatus> allowedTargets(String type, WorkflowStatus from) {
+        long mask = table(type)[from.ordinal()];
+        EnumSet<WorkflowStatus> targets = EnumSet.noneOf(WorkflowStatus.class);
+        for (WorkflowStatus to : STATUSES) {
+            if ((mask & (1L << to.ordinal())) != 0) {
+                targets.add(to);
+            }
+        }
+        return targets;
+    }
+
+    private long[] table(String type) {
+        long[] table = type != null ? tablesByType.get(type) : null;
+        return table != null ? table : defaultTable;
+    }
+
+    private static long[] permissiveTable() {
+        long[] table = new long[STATUSES.length];
+        for (WorkflowStatus from : STATUSES) {
+            allow(table, from, STATUSES);
+        }
+        return table;
+    }
+
+    private static long[] builtInTable() {
+        long[] table = new long[STATUSES.length];
+        allow(table, WorkflowStatus.CREATED, WorkflowStatus.DRAFT, WorkflowStatus.REVIEW);
+        allow(table, WorkflowStatus.DRAFT, WorkflowStatus.CREATED, WorkflowStatus.REVIEW);
+        allow(table, WorkflowStatus.REVIEW, WorkflowStatus.APPROVED, WorkflowStatus.REJECTED, WorkflowStatus.ESCALATED);
+        allow(table, WorkflowStatus.ESCALATED, WorkflowStatus.APPROVED, WorkflowStatus.REJECTED, WorkflowStatus.FINAL_APPROVED);
+        allow(table, WorkflowStatus.APPROVED, WorkflowStatus.FINAL_APPROVED, WorkflowStatus.COMPLETED, WorkflowStatus.REOPENED);
+        allow(table, WorkflowStatus.FINAL_APPROVED, WorkflowStatus.COMPLETED, WorkflowStatus.REOPENED);
+        allow(table, WorkflowStatus.REJECTED, WorkflowStatus.REOPENED);
+        allow(table, WorkflowStatus.COMPLETED, WorkflowStatus.REOPENED);
+        allow(table, WorkflowStatus.REOPENED, WorkflowStatus.DRAFT, WorkflowStatus.REVIEW);
+        return table;
+    }
+
+    private static void allow(long[] table, WorkflowStatus from, WorkflowStatus... targets) {
+        for (WorkflowStatus to : targets) {
+            table[from.ordinal()] |= 1L << to.ordinal();
+        }
+    }
+
+    private static void applyOverrides(long[] table, Map<String, String> targetsBySource) {
+        targetsBySource.forEach((source, targets) -> {
+            WorkflowStatus from = WorkflowStatus.valueOf(source.trim().toUpperCase());
+            long mask = 0;
+            for (String target : targets.split(",")) {
+                if (!target.isBlank()) {
+                    mask |= 1L << WorkflowStatus.valueOf(target.trim().toUpperCase()).ordinal();
+                }
+            }
+            table[from.ordinal()] = mask;
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package com.enterprisesystemengineering.audit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Segment write, read and rollover through {@link AuditArchive} on a temporary directory.
+ */
+class AuditArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 8, 0, 0, 123_456_789);
+
+    @TempDir
+    Path directory;
+
+    private final List<AuditArchive> opened = new ArrayList<>();
+
+    @AfterEach
+    void close() {
+        opened.forEach(AuditArchive::closeSegments);
+    }
+
+    @Test
+    void everyFieldSurvivesASegmentRoundTrip() throws IOException {
+        AuditArchive archive = open(256, AuditArchive.MAX_SEGMENT_BYTES);
+        List<AuditLog> entries = entries(5);
+        entries.get(1).setPreviousState(null);
+        entries.get(1).setStateFormat(null);
+
+        assertEquals(5, archive.writeSegment("audit-2024-03-01", appendAll(entries)));
+
+        assertEquals(1, segmentFiles().size());
+        for (AuditLog entry : entries) {
+            assertEquals(entry, archive.findById(entry.getId()).orElseThrow());
+        }
+        assertTrue(archive.findById("missing").isEmpty());
+    }
+
+    @Test
+    void rollsOverToANewSegmentOnceTheSizeCapIsReached() throws IOException {
+        AuditArchive archive = open(10, 1);
+        List<AuditLog> entries = entries(35);
+
+        assertEquals(35, archive.writeSegment("audit-2024-03-01", appendAll(entries)));
+
+        assertEquals(4, segmentFiles().size());
+        assertEquals(35, archive.count());
+        for (AuditLog entry : entries) {
+            assertEquals(entry.getId(), archive.findById(entry.getId()).orElseThrow().getId());
+        }
+        List<AuditLog> newestFirst = archive.findOlderThan(null, null, 100);
+        assertEquals(35, newestFirst.size());
+        for (int i = 0; i < newestFirst.size(); i++) {
+            assertEquals(entries.get(34 - i).getId(), newestFirst.get(i).getId());
+        }
+    }
+
+    @Test
+    void reopeningReadsSegmentsFromDiskAndDropsUnfinishedFiles() throws IOException {
+        AuditArchive archive = open(10, 1);
+        List<AuditLog> entries = entries(25);
+        archive.writeSegment("audit-2024-03-01", appendAll(entries));
+        Path leftover = Files.createFile(directory.resolve("audit-2024-03-02-000.seg.tmp"));
+
+        AuditArchive reopened = open(10, 1);
+
+        assertEquals(25, reopened.count());
+        assertTrue(Files.notExists(leftover));
+        assertEquals(entries.get(24), reopened.findById(entries.get(24).getId()).orElseThrow());
+    }
+
+    @Test
+    void failedRunKeepsCompletedSegmentsAndDeletesTheUnfinishedOne() throws IOException {
+        AuditArchive archive = open(10, 1);
+        List<AuditLog> entries = entries(15);
+
+        assertThrows(IOException.class, () -> archive.writeSegment("audit-2024-03-01", writer -> {
+            for (AuditLog entry : entries) {
+                writer.append(entry);
+            }
+            throw new IOException("source failed");
+        }));
+
+        assertEquals(1, segmentFiles().size());
+        assertEquals(10, archive.count());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertTrue(files.noneMatch(file -> file.toString().endsWith(".tmp")));
+        }
+        assertEquals(10, archive.archivedIds("audit-2024-03-01").size());
+    }
+
+    @Test
+    void historyReturnsOneEntityAscendingUpToTheGivenTime() throws IOException {
+        AuditArchive archive = open(4, 1);
+        List<AuditLog> entries = entries(20);
+        archive.writeSegment("audit-2024-03-01", appendAll(entries));
+
+        List<AuditLog> history = archive.history("Workflow", "w1", entries.get(12).getTimestamp());
+
+        List<String> expected = entries.subList(0, 13).stream()
+                .filter(entry -> entry.getEntityId().equals("w1"))
+                .map(AuditLog::getId)
+                .toList();
+        assertEquals(expected, history.stream().map(AuditLog::getId).toList());
+    }
+
+    @Test
+    void rejectsSegmentCapsThatCannotBeMapped() {
+        assertThrows(IllegalStateException.class,
+                () -> new AuditArchive(directory.toString(), 256, AuditArchive.MAX_SEGMENT_BYTES + 1));
+    }
+
+    private AuditArchive open(int blockSize, long maxSegmentBytes) throws IOException {
+        AuditArchive archive = new AuditArchive(directory.toString(), blockSize, maxSegmentBytes);
+        archive.openSegments();
+        opened.add(archive);
+        return archive;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.toString().endsWith(AuditArchive.SEGMENT_SUFFIX)).toList();
+        }
+    }
+
+    private static AuditArchive.SegmentSource appendAll(List<AuditLog> entries) {
+        return writer -> {
+            for (AuditLog entry : entries) {
+                writer.append(entry);
+            }
+        };
+    }
+
+    private static List<AuditLog> entries(int count) {
+        List<AuditLog> entries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            entries.add(AuditLog.builder()
+                    .id(String.format("id-%03d", i))
+                    .userId("u" + (i % 3))
+                    .role("ADMIN")
+                    .action("UPDATE_WORKFLOW")
+                    .entity("Workflow")
+                    .entityId("w" + (i % 2))
+                    .previousState("{\"status\":\"PENDING\"}")
+                    .newState("{\"status\":\"APPROVED\"}")
+                    .stateFormat(AuditStateFormat.DELTA)
+                    .timestamp(START.plusSeconds(i))
+                    .build());
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,261 @@
+package com.enterprisesystemengineering.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link AuditWriter} against a stubbed JdbcTemplate: batching, queueing after commit, failure isolation and
+ * the shutdown drain.
+ */
+class AuditWriterTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<List<AuditLog>> batches = new CopyOnWriteArrayList<>();
+    private final List<String> batchThreads = new CopyOnWriteArrayList<>();
+    private final List<List<AuditLog>> notified = new CopyOnWriteArrayList<>();
+
+    private volatile Runnable onBatch = () -> { };
+    private AuditWriter writer;
+
+    @AfterEach
+    void stopWriter() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void entriesSubmittedWithinOneIntervalShareOneFlush() {
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 500, 200);
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            acks.add(writer.submit(audit()));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(1, batches.size());
+        assertEquals(10, batches.get(0).size());
+        assertEquals("audit-flusher", batchThreads.get(0));
+        assertEquals(batches, notified);
+    }
+
+    @Test
+    void flushSizeCapsEachBatch() {
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 4, 200);
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            acks.add(writer.submit(audit()));
+        }
+        CompletableFuture.allOf(acks.toArray(CompletableFuture[]::new)).join();
+
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 4), "batch sizes " + sizes());
+        assertEquals(10, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void entryIsQueuedOnlyOnceTheCallersTransactionCommits() throws Exception {
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 500, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> ack;
+        try {
+            ack = writer.submit(audit());
+            Thread.sleep(50);
+            assertTrue(batches.isEmpty(), "written before the caller committed");
+            completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        ack.get(5, TimeUnit.SECONDS);
+        assertEquals(1, batches.size());
+        assertEquals("audit-flusher", batchThreads.get(0));
+    }
+
+    @Test
+    void rolledBackTransactionLeavesNoEntry() throws Exception {
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 500, 5);
+
+        TransactionSynchronizationManager.initSynchronization();
+        CompletableFuture<Void> ack;
+        try {
+            ack = writer.submit(audit());
+            completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        writer.stop();
+
+        assertTrue(ack.isCancelled());
+        assertTrue(batches.isEmpty());
+    }
+
+    @Test
+    void failedFlushIsReportedOnTheAckNotThrownAtTheCaller() {
+        onBatch = () -> {
+            throw new DataAccessResourceFailureException("audit_logs unavailable");
+        };
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 500, 5);
+
+        CompletableFuture<Void> ack = assertDoesNotThrow(() -> writer.submit(audit()));
+
+        assertThrows(CompletionException.class, ack::join);
+        assertEquals(1.0, meterRegistry.counter("audit.writer.failed").count());
+    }
+
+    @Test
+    void callerNeverWaitsForASlowFlush() {
+        CountDownLatch release = new CountDownLatch(1);
+        onBatch = () -> await(release);
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 500, 5);
+
+        long start = System.nanoTime();
+        CompletableFuture<Void> ack = assertDoesNotThrow(() -> writer.submit(audit()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertFalse(ack.isDone());
+        assertTrue(elapsedMs < 100, "caller waited " + elapsedMs + " ms");
+
+        release.countDown();
+        ack.join();
+    }
+
+    @Test
+    void fullQueueWritesOnTheCallerThread() {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch flushing = new CountDownLatch(1);
+        onBatch = () -> {
+            if (Thread.currentThread().getName().equals("audit-flusher")) {
+                flushing.countDown();
+                await(release);
+            }
+        };
+        writer = start(AuditDurability.FIRE_AND_FORGET, 1, 1, 5);
+
+        CompletableFuture<Void> first = writer.submit(audit());
+        await(flushing);
+        CompletableFuture<Void> queued = writer.submit(audit());
+        CompletableFuture<Void> overflow = writer.submit(audit());
+
+        assertTrue(overflow.isDone());
+        assertEquals(1.0, meterRegistry.counter("audit.writer.caller.runs").count());
+        assertTrue(batchThreads.contains(Thread.currentThread().getName()));
+
+        release.countDown();
+        CompletableFuture.allOf(first, queued).join();
+        assertEquals(3, batches.stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void stopDrainsEverythingStillQueued() {
+        onBatch = () -> sleep(50);
+        writer = start(AuditDurability.FIRE_AND_FORGET, 100, 2, 5);
+
+        List<CompletableFuture<Void>> acks = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            acks.add(writer.submit(audit()));
+        }
+        writer.stop();
+
+        assertFalse(writer.isRunning());
+        assertTrue(acks.stream().allMatch(ack -> ack.isDone() && !ack.isCompletedExceptionally()));
+        assertEquals(9, batches.stream().mapToInt(List::size).sum());
+
+        writer.submit(audit());
+        assertEquals(10, batches.stream().mapToInt(List::size).sum());
+        assertEquals(Thread.currentThread().getName(), batchThreads.get(batchThreads.size() - 1));
+    }
+
+    @SuppressWarnings("unchecked")
+    private AuditWriter start(AuditDurability mode, int queueCapacity, int flushSize, long flushIntervalMs) {
+        when(jdbcTemplate.batchUpdate(eq(AuditWriter.INSERT_SQL), anyCollection(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class))).thenAnswer(invocation -> {
+            List<AuditLog> batch = List.copyOf((Collection<AuditLog>) invocation.getArgument(1));
+            onBatch.run();
+            batches.add(batch);
+            batchThreads.add(Thread.currentThread().getName());
+            return new int[][]{};
+        });
+
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("recorder", (AuditWriteListener) audits -> notified.add(List.copyOf(audits)));
+
+        AuditWriter started = new AuditWriter(jdbcTemplate, beans.getBeanProvider(AuditWriteListener.class),
+                mock(PlatformTransactionManager.class), meterRegistry,
+                mode, queueCapacity, flushSize, flushIntervalMs, 10, 5000);
+        started.start();
+        return started;
+    }
+
+    private static void completeTransaction(int status) {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            synchronization.afterCompletion(status);
+        }
+    }
+
+    private List<Integer> sizes() {
+        return batches.stream().map(List::size).toList();
+    }
+
+    private static AuditLog audit() {
+        return AuditLog.builder()
+                .id(UUID.randomUUID().toString())
+                .userId("u1")
+                .role("ADMIN")
+                .action("UPDATE")
+                .entity("Workflow")
+                .entityId("w1")
+                .timestamp(LocalDateTime.now())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
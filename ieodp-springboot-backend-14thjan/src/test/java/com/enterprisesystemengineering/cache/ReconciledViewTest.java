@@ -0,0 +1,91 @@
+package com.enterprisesystemengineering.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link ReconciledView}: lazy seeding, replay of changes that race a rebuild, and a failed rebuild.
+ */
+class ReconciledViewTest {
+
+    @Test
+    void firstReadSeedsOnceAndLaterSeedsAreNoOps() {
+        AtomicInteger loads = new AtomicInteger();
+        ReconciledView<Set<String>> view = new ReconciledView<>("test", ConcurrentHashMap.newKeySet(), () -> {
+            loads.incrementAndGet();
+            return set("a");
+        });
+
+        assertEquals(Set.of("a"), view.get());
+        view.seed();
+        view.get();
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void changesArrivingDuringARebuildAreReplayedOntoTheRebuiltView() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReconciledView<Set<String>> view = new ReconciledView<>("test", set("a", "b"), () -> {
+            querying.countDown();
+            await(release);
+            // the query started before "c" was added and "a" removed
+            return set("a", "b");
+        });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(view::rebuild);
+        assertTrue(querying.await(5, TimeUnit.SECONDS));
+        view.apply(current -> current.add("c"));
+        view.apply(current -> current.remove("a"));
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        assertEquals(Set.of("b", "c"), view.get());
+        view.apply(current -> current.add("d"));
+        assertEquals(Set.of("b", "c", "d"), view.get());
+    }
+
+    @Test
+    void failedRebuildKeepsTheLiveViewAndStopsBuffering() {
+        AtomicInteger loads = new AtomicInteger();
+        ReconciledView<Set<String>> view = new ReconciledView<>("test", ConcurrentHashMap.newKeySet(), () -> {
+            if (loads.incrementAndGet() == 2) {
+                throw new IllegalStateException("database unavailable");
+            }
+            return set("a");
+        });
+        Set<String> seeded = view.get();
+
+        assertThrows(IllegalStateException.class, view::rebuild);
+        view.apply(current -> current.add("b"));
+
+        assertSame(seeded, view.get());
+        assertEquals(Set.of("a", "b"), seeded);
+    }
+
+    private static Set<String> set(String... values) {
+        Set<String> set = ConcurrentHashMap.newKeySet();
+        set.addAll(Set.of(values));
+        return set;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.enterprisesystemengineering.entity;
+
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link ApprovalStatusConverter}: constant names round-trip, legacy values are read, unknown values fail.
+ */
+class ApprovalStatusConverterTest {
+
+    private final ApprovalStatusConverter converter = new ApprovalStatusConverter();
+
+    @Test
+    void constantNamesRoundTrip() {
+        for (ApprovalStatus status : ApprovalStatus.values()) {
+            assertEquals(status, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status)));
+        }
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+
+    @Test
+    void legacyValuesAreRead() {
+        assertEquals(ApprovalStatus.PENDING, converter.convertToEntityAttribute("pending"));
+        assertEquals(ApprovalStatus.APPROVED, converter.convertToEntityAttribute(" Approved "));
+        assertEquals(ApprovalStatus.APPROVED, converter.convertToEntityAttribute("approve"));
+        assertEquals(ApprovalStatus.REJECTED, converter.convertToEntityAttribute("Reject"));
+        assertEquals(ApprovalStatus.ESCALATED, converter.convertToEntityAttribute("escalate"));
+        assertNull(converter.convertToEntityAttribute("  "));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void unknownValuesFail() {
+        assertThrows(IllegalArgumentException.class, () -> converter.convertToEntityAttribute("ON_HOLD"));
+    }
+}
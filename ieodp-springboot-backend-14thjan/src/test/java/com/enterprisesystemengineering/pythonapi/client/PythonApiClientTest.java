@@ -0,0 +1,213 @@
+package com.enterprisesystemengineering.pythonapi.client;
+
+import com.enterprisesystemengineering.exception.ServiceUnavailableException;
+import com.enterprisesystemengineering.pythonapi.dto.AutomationEvent;
+import com.enterprisesystemengineering.pythonapi.dto.HealthCheckResponse;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs {@link PythonApiClient} against a local stub of the Python service and checks retries, timeouts,
+ * the bulkhead and the circuit breaker.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:python-api;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "python.api.timeout=4000",
+        "python.api.response-timeout-ms=1000",
+        "python.api.retry.max-retries=2",
+        "python.api.retry.backoff-ms=10",
+        "python.api.bulkhead.max-concurrent-calls=2",
+        "python.api.circuit-breaker.sliding-window-size=4",
+        "python.api.circuit-breaker.minimum-calls=4",
+        "python.api.circuit-breaker.open-state-ms=60000"
+})
+class PythonApiClientTest {
+
+    private static final String HEALTH = "{\"status\":\"ok\",\"service\":\"stub\"}";
+    private static final String AUTOMATION = "{\"status\":\"EXECUTED\",\"outcome\":\"AUTO_APPROVED\"}";
+
+    private static final HttpServer stub = startStub();
+    private static final AtomicInteger hits = new AtomicInteger();
+    private static volatile Responder responder;
+
+    @Autowired
+    private PythonApiClient client;
+
+    @Autowired
+    private CircuitBreaker pythonApiCircuitBreaker;
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("python.api.base-url", () -> "http://localhost:" + stub.getAddress().getPort());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.stop(0);
+    }
+
+    @BeforeEach
+    void reset() {
+        hits.set(0);
+        responder = (exchange, hit) -> respond(exchange, 200, exchange.getRequestMethod().equals("GET") ? HEALTH : AUTOMATION);
+        pythonApiCircuitBreaker.reset();
+    }
+
+    @Test
+    void idempotentCallsAreRetriedOnTransientErrors() {
+        responder = (exchange, hit) -> respond(exchange, hit <= 2 ? 503 : 200, hit <= 2 ? "" : HEALTH);
+
+        HealthCheckResponse health = client.checkHealth();
+
+        assertEquals("ok", health.getStatus());
+        assertEquals(3, hits.get());
+    }
+
+    @Test
+    void automationIsNotRetriedOnceItReachedTheService() {
+        responder = (exchange, hit) -> respond(exchange, 500, "");
+
+        RuntimeException failure = assertThrows(RuntimeException.class, () -> client.executeAutomation(new AutomationEvent()));
+
+        assertInstanceOf(WebClientResponseException.class, failure.getCause());
+        assertEquals(1, hits.get());
+    }
+
+    @Test
+    void slowResponsesAreCutOffByTheResponseTimeout() {
+        responder = (exchange, hit) -> {
+            sleep(5000);
+            respond(exchange, 200, AUTOMATION);
+        };
+
+        long start = System.nanoTime();
+        assertThrows(ServiceUnavailableException.class, () -> client.executeAutomation(new AutomationEvent()));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs < 2500, "call took " + elapsedMs + " ms");
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverTheLimitWithoutCallingTheService() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch inFlight = new CountDownLatch(2);
+        responder = (exchange, hit) -> {
+            inFlight.countDown();
+            await(release);
+            respond(exchange, 200, HEALTH);
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<HealthCheckResponse> first = CompletableFuture.supplyAsync(client::checkHealth, pool);
+            CompletableFuture<HealthCheckResponse> second = CompletableFuture.supplyAsync(client::checkHealth, pool);
+            assertTrue(inFlight.await(5, TimeUnit.SECONDS), "stub never saw two calls");
+
+            assertThrows(ServiceUnavailableException.class, client::checkHealth);
+            assertEquals(2, hits.get());
+
+            release.countDown();
+            assertEquals("ok", first.get(5, TimeUnit.SECONDS).getStatus());
+            assertEquals("ok", second.get(5, TimeUnit.SECONDS).getStatus());
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void openCircuitFailsFastWithoutCallingTheService() {
+        responder = (exchange, hit) -> respond(exchange, 500, "");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(RuntimeException.class, () -> client.executeAutomation(new AutomationEvent()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, pythonApiCircuitBreaker.getState());
+
+        ServiceUnavailableException failure = assertThrows(ServiceUnavailableException.class,
+                () -> client.executeAutomation(new AutomationEvent()));
+
+        assertEquals(60, failure.getRetryAfterSeconds());
+        assertEquals(4, hits.get());
+    }
+
+    @FunctionalInterface
+    interface Responder {
+        void handle(HttpExchange exchange, int hit) throws IOException;
+    }
+
+    private static HttpServer startStub() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            server.createContext("/", exchange -> {
+                try {
+                    exchange.getRequestBody().readAllBytes();
+                    responder.handle(exchange, hits.incrementAndGet());
+                } finally {
+                    exchange.close();
+                }
+            });
+            server.setExecutor(Executors.newCachedThreadPool());
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start Python API stub", e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static void sleep(long ms) {
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
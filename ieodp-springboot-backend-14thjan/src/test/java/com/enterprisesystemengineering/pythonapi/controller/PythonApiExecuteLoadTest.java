@@ -0,0 +1,198 @@
+package com.enterprisesystemengineering.pythonapi.controller;
+
+import com.enterprisesystemengineering.config.JwtUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives POST /python-api/execute with many concurrent callers against a Python stub that answers after a
+ * fixed delay, once in non-blocking and once in blocking mode, and reports the peak number of request
+ * threads parked in a blocking call and the p99 latency of each.
+ * Not part of the regular run: {@code mvn test -Dtest=PythonApiExecuteLoadTest -DloadTest=true}.
+ */
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:python-api-load;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "server.tomcat.accept-count=2000",
+        "python.api.pool.max-connections=2000",
+        "python.api.pool.pending-acquire-max=5000",
+        "python.api.bulkhead.max-concurrent-calls=5000"
+})
+class PythonApiExecuteLoadTest {
+
+    private static final int CONCURRENT_CALLS = 1000;
+    private static final int WARM_UP_CALLS = 100;
+    private static final Duration STUB_DELAY = Duration.ofMillis(200);
+    private static final String AUTOMATION = "{\"status\":\"EXECUTED\",\"outcome\":\"AUTO_APPROVED\"}";
+
+    private static final DisposableServer stub = HttpServer.create()
+            .host("localhost")
+            .port(0)
+            .route(routes -> routes.post("/api/v1/automation/execute", (request, response) -> request.receive().then(
+                    response.header("Content-Type", "application/json")
+                            .sendString(Mono.just(AUTOMATION).delayElement(STUB_DELAY))
+                            .then())))
+            .bindNow();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private PythonApiController controller;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void stubUrl(DynamicPropertyRegistry registry) {
+        registry.add("python.api.base-url", () -> "http://localhost:" + stub.port());
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.disposeNow();
+    }
+
+    @Test
+    void nonBlockingModeHoldsNoThreadsAndCutsTailLatency() throws Exception {
+        String token = jwtUtil.generateToken("load-test", "load-test@example.com", "ADMIN");
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        // non-blocking first: Tomcat keeps idle request threads around, which would skew its thread count
+        Result nonBlocking = run(true, http, token);
+        Result blocking = run(false, http, token);
+
+        System.out.printf("blocking:     peak blocked threads %d, peak request threads %d, p99 %d ms%n",
+                blocking.peakBlockedThreads(), blocking.peakRequestThreads(), blocking.p99Ms());
+        System.out.printf("non-blocking: peak blocked threads %d, peak request threads %d, p99 %d ms%n",
+                nonBlocking.peakBlockedThreads(), nonBlocking.peakRequestThreads(), nonBlocking.p99Ms());
+
+        assertEquals(0, nonBlocking.peakBlockedThreads());
+        assertTrue(blocking.peakBlockedThreads() > 0);
+        assertTrue(nonBlocking.p99Ms() < blocking.p99Ms(),
+                "non-blocking p99 " + nonBlocking.p99Ms() + " ms, blocking p99 " + blocking.p99Ms() + " ms");
+    }
+
+    private Result run(boolean nonBlocking, HttpClient http, String token) throws Exception {
+        ReflectionTestUtils.setField(AopTestUtils.getTargetObject(controller), "nonBlockingExecute", nonBlocking);
+        fire(http, token, WARM_UP_CALLS);
+
+        ThreadSampler sampler = new ThreadSampler();
+        sampler.start();
+        long[] latencies;
+        try {
+            latencies = fire(http, token, CONCURRENT_CALLS);
+        } finally {
+            sampler.stop();
+        }
+        Arrays.sort(latencies);
+        long p99 = latencies[(int) Math.ceil(latencies.length * 0.99) - 1];
+        return new Result(sampler.peakBlocked.get(), sampler.peakRequestThreads.get(), TimeUnit.NANOSECONDS.toMillis(p99));
+    }
+
+    /**
+     * Sends {@code calls} requests at once and returns each one's latency in nanoseconds.
+     */
+    private long[] fire(HttpClient http, String token, int calls) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/python-api/execute"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"request_id\":\"load\",\"workflow_type\":\"APPROVAL\"}"))
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        List<CompletableFuture<Long>> futures = new ArrayList<>(calls);
+        for (int i = 0; i < calls; i++) {
+            long start = System.nanoTime();
+            futures.add(http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).thenApply(response -> {
+                assertEquals(200, response.statusCode(), response.body());
+                return System.nanoTime() - start;
+            }));
+        }
+        return futures.stream().mapToLong(CompletableFuture::join).toArray();
+    }
+
+    record Result(int peakBlockedThreads, int peakRequestThreads, long p99Ms) {
+    }
+
+    /**
+     * Samples the Tomcat request threads: how many exist and how many are parked inside a Reactor
+     * {@code block()}.
+     */
+    private static final class ThreadSampler implements Runnable {
+
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final AtomicInteger peakBlocked = new AtomicInteger();
+        private final AtomicInteger peakRequestThreads = new AtomicInteger();
+        private final Thread thread = new Thread(this, "load-test-sampler");
+
+        void start() {
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            thread.join();
+        }
+
+        @Override
+        public void run() {
+            while (running.get()) {
+                int blocked = 0;
+                int requestThreads = 0;
+                for (var entry : Thread.getAllStackTraces().entrySet()) {
+                    if (!entry.getKey().getName().startsWith("http-nio-") || !entry.getKey().getName().contains("-exec-")) {
+                        continue;
+                    }
+                    requestThreads++;
+                    for (StackTraceElement frame : entry.getValue()) {
+                        if (frame.getClassName().startsWith("reactor.core.publisher.BlockingSingleSubscriber")) {
+                            blocked++;
+                            break;
+                        }
+                    }
+                }
+                peakBlocked.accumulateAndGet(blocked, Math::max);
+                peakRequestThreads.accumulateAndGet(requestThreads, Math::max);
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
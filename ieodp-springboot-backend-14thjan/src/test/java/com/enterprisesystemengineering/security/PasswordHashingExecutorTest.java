@@ -0,0 +1,112 @@
+package com.enterprisesystemengineering.security;
+
+import com.enterprisesystemengineering.exception.ServiceUnavailableException;
+import com.enterprisesystemengineering.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link PasswordHashingExecutor} with a single hashing thread: rejection once the queue is full and
+ * the timeout on a hash that does not finish.
+ */
+class PasswordHashingExecutorTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final CountDownLatch hashing = new CountDownLatch(1);
+
+    private PasswordHashingExecutor executor;
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void callsBeyondThePoolAndQueueAreRejectedWith429() throws Exception {
+        when(passwordEncoder.encode(any())).thenAnswer(invocation -> {
+            hashing.countDown();
+            assertTrue(release.await(10, TimeUnit.SECONDS));
+            return "hash";
+        });
+        executor = new PasswordHashingExecutor(passwordEncoder, meterRegistry, 1, 1, 3, 10_000, false);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> executor.encode("first"));
+        assertTrue(hashing.await(5, TimeUnit.SECONDS), "first hash never started");
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> executor.encode("second"));
+        awaitQueueDepth(1);
+
+        TooManyRequestsException rejected = assertThrows(TooManyRequestsException.class, () -> executor.encode("third"));
+
+        assertEquals(3, rejected.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.counter("password.hash.rejected").count());
+        release.countDown();
+        assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+        assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void hashThatOutlivesTheTimeoutFailsWith503AndIsCancelled() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(passwordEncoder.matches(any(), anyString())).thenAnswer(invocation -> {
+            hashing.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return true;
+        });
+        executor = new PasswordHashingExecutor(passwordEncoder, meterRegistry, 1, 1, 2, 100, false);
+
+        long start = System.nanoTime();
+        ServiceUnavailableException failure = assertThrows(ServiceUnavailableException.class,
+                () -> executor.matches("secret", "stored"));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, failure.getRetryAfterSeconds());
+        assertTrue(elapsedMs < 2000, "caller waited " + elapsedMs + " ms");
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "hashing thread was not interrupted");
+        assertEquals(1.0, meterRegistry.counter("password.hash.timeouts").count());
+    }
+
+    @Test
+    void upgradeIsOnlyOfferedForAMatchingLowerCostHash() {
+        when(passwordEncoder.matches("secret", "old")).thenReturn(true);
+        when(passwordEncoder.matches("wrong", "old")).thenReturn(false);
+        when(passwordEncoder.upgradeEncoding("old")).thenReturn(true);
+        when(passwordEncoder.encode("secret")).thenReturn("new");
+        executor = new PasswordHashingExecutor(passwordEncoder, meterRegistry, 1, 1, 1, 10_000, true);
+
+        assertEquals(new PasswordHashingExecutor.Verification(true, "new"), executor.verify("secret", "old"));
+        assertFalse(executor.verify("wrong", "old").matched());
+        assertEquals(1.0, meterRegistry.counter("password.hash.upgraded").count());
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("password.hash.queue.depth").gauge().value() < depth) {
+            assertTrue(System.nanoTime() < deadline, "queue never reached " + depth);
+            Thread.sleep(5);
+        }
+    }
+}
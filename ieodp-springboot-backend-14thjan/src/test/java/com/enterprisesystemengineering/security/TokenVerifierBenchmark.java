@@ -0,0 +1,103 @@
+package com.enterprisesystemengineering.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost before and after {@link TokenVerifier}.
+ * Run with {@code mvn test-compile} and then the main method (not part of the surefire run).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenVerifierBenchmark {
+
+    private static final String SECRET = "your-secret-key-minimum-32-characters-long-1234567890abcdefghijklmnop";
+
+    private String token;
+    private JwtParser parser;
+    private TokenVerifier cached;
+
+    @Setup
+    public void setUp() {
+        token = Jwts.builder()
+                .setSubject("user@example.com")
+                .claim("role", "OPERATIONS")
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+        parser = Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build();
+        cached = new TokenVerifier(new SimpleMeterRegistry(), SECRET, 10_000, TimeUnit.HOURS.toMillis(1));
+        cached.verify(token);
+    }
+
+    /**
+     * Three-parse path: validate, then read email, then read role,
+     * each building a new key and parser and verifying the signature again.
+     */
+    @Benchmark
+    public Object previousThreeParses() {
+        for (int i = 0; i < 2; i++) {
+            Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build().parseClaimsJws(token);
+        }
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().get("role");
+    }
+
+    /**
+     * Previous JwtFilter path: one parse, but key and parser rebuilt per request.
+     */
+    @Benchmark
+    public Object previousRebuiltParser() {
+        return Jwts.parserBuilder().setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes())).build()
+                .parseClaimsJws(token).getBody().get("role");
+    }
+
+    /**
+     * Reused parser, signature verified every time (first request for a token).
+     */
+    @Benchmark
+    public Object singleParseReusedParser() {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        return claims.get("role");
+    }
+
+    /**
+     * Repeat request for an already verified token.
+     */
+    @Benchmark
+    public Object cachedVerification() {
+        Claims claims = cached.verify(token);
+        return claims.get("role");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenVerifierBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,147 @@
+package com.enterprisesystemengineering.sla;
+
+import com.enterprisesystemengineering.enums.ApprovalStatus;
+import com.enterprisesystemengineering.repository.ApprovalRepository;
+import com.enterprisesystemengineering.service.ApprovalChangedEvent;
+import com.enterprisesystemengineering.service.ApprovalService;
+import com.enterprisesystemengineering.task.TaskChangedEvent;
+import com.enterprisesystemengineering.task.TaskRepository;
+import com.enterprisesystemengineering.task.TaskService;
+import com.enterprisesystemengineering.task.TaskStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link SlaEscalationEngine} driven through its change listeners and {@code tick()} with mocked services.
+ */
+class SlaEscalationEngineTest {
+
+    private static final long HOUR_MS = 3_600_000;
+
+    private final ApprovalService approvalService = mock(ApprovalService.class);
+    private final TaskService taskService = mock(TaskService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private SlaEscalationEngine engine;
+
+    @AfterEach
+    void shutdown() {
+        if (engine != null) {
+            engine.stop();
+        }
+    }
+
+    @Test
+    void disabledEngineKeepsNoTimers() {
+        engine = engine(false, 0, 0, 200);
+
+        engine.onTaskChanged(new TaskChangedEvent("t1", null, task(TaskStatus.PENDING)));
+        engine.onApprovalChanged(approval(7L, ApprovalStatus.PENDING, LocalDateTime.now().minusDays(1)));
+        engine.tick();
+
+        assertEquals(0, timers());
+        verifyNoInteractions(taskService, approvalService);
+    }
+
+    @Test
+    void taskEnteringPendingIsEscalatedOnceItsDeadlinePasses() {
+        when(taskService.escalate(any())).thenReturn(List.of("t1"));
+        engine = engine(true, HOUR_MS, 0, 200);
+
+        engine.onTaskChanged(new TaskChangedEvent("t1", task(TaskStatus.BLOCKED), task(TaskStatus.PENDING)));
+        assertEquals(1, timers());
+        engine.tick();
+
+        verify(taskService).escalate(List.of("t1"));
+        assertEquals(0, timers());
+        assertEquals(1, escalations("TASK", "escalated"));
+    }
+
+    @Test
+    void taskLeavingPendingCancelsItsTimer() {
+        engine = engine(true, HOUR_MS, 0, 200);
+
+        engine.onTaskChanged(new TaskChangedEvent("t1", null, task(TaskStatus.PENDING)));
+        engine.onTaskChanged(new TaskChangedEvent("t1", task(TaskStatus.PENDING), task(TaskStatus.COMPLETED)));
+        engine.tick();
+
+        assertEquals(0, timers());
+        verify(taskService, never()).escalate(any());
+    }
+
+    @Test
+    void overdueApprovalIsEscalatedAndDecidedOneIsNot() {
+        when(approvalService.escalate(any())).thenReturn(List.of(7L));
+        engine = engine(true, 60_000, HOUR_MS, 200);
+
+        engine.onApprovalChanged(approval(7L, ApprovalStatus.PENDING, LocalDateTime.now().minusHours(1)));
+        engine.onApprovalChanged(approval(8L, ApprovalStatus.PENDING, LocalDateTime.now().minusHours(1)));
+        engine.onApprovalChanged(approval(8L, ApprovalStatus.APPROVED, LocalDateTime.now().minusHours(1)));
+        engine.tick();
+
+        verify(approvalService).escalate(List.of(7L));
+        assertEquals(0, timers());
+    }
+
+    @Test
+    void expiredTimersAreEscalatedInBatches() {
+        when(taskService.escalate(any())).thenAnswer(invocation -> List.copyOf(invocation.<Collection<String>>getArgument(0)));
+        engine = engine(true, HOUR_MS, 0, 2);
+
+        for (String id : List.of("t1", "t2", "t3")) {
+            engine.onTaskChanged(new TaskChangedEvent(id, null, task(TaskStatus.PENDING)));
+        }
+        engine.tick();
+
+        verify(taskService, times(2)).escalate(any());
+        assertEquals(3, escalations("TASK", "escalated"));
+    }
+
+    @Test
+    void failedBatchIsRescheduledForRetry() {
+        when(taskService.escalate(any())).thenThrow(new IllegalStateException("database unavailable"));
+        engine = engine(true, HOUR_MS, 0, 200);
+
+        engine.onTaskChanged(new TaskChangedEvent("t1", null, task(TaskStatus.PENDING)));
+        engine.tick();
+
+        assertEquals(1, timers());
+        assertEquals(1, escalations("TASK", "failed"));
+    }
+
+    private SlaEscalationEngine engine(boolean enabled, long approvalDeadlineMs, long taskDeadlineMs, int batchSize) {
+        return new SlaEscalationEngine(approvalService, mock(ApprovalRepository.class), taskService,
+                mock(TaskRepository.class), meterRegistry, enabled, approvalDeadlineMs, taskDeadlineMs,
+                1, 6, 5, batchSize, HOUR_MS);
+    }
+
+    private static TaskChangedEvent.State task(TaskStatus status) {
+        return new TaskChangedEvent.State(status, "user", "workflow");
+    }
+
+    private static ApprovalChangedEvent approval(Long id, ApprovalStatus status, LocalDateTime createdAt) {
+        return new ApprovalChangedEvent(id, status, "user", null, createdAt);
+    }
+
+    private double timers() {
+        return meterRegistry.get("sla.wheel.timers").gauge().value();
+    }
+
+    private double escalations(String kind, String outcome) {
+        return meterRegistry.get("sla.escalations").tag("kind", kind).tag("outcome", outcome).counter().count();
+    }
+}
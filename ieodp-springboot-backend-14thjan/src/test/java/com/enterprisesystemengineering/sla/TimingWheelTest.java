@@ -0,0 +1,105 @@
+package com.enterprisesystemengineering.sla;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TimingWheel} with one-millisecond ticks and four slots per level, so levels cover 4, 16 and 64 ticks.
+ */
+class TimingWheelTest {
+
+    @Test
+    void timerCascadesDownEveryLevelAndFiresOnItsDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 0);
+        wheel.schedule("a", 30);
+        assertEquals(1, wheel.occupancy(2));
+
+        assertTrue(wheel.advance(16).isEmpty());
+        assertEquals(0, wheel.occupancy(2));
+        assertEquals(1, wheel.occupancy(1));
+
+        assertTrue(wheel.advance(28).isEmpty());
+        assertEquals(0, wheel.occupancy(1));
+        assertEquals(1, wheel.occupancy(0));
+
+        assertTrue(wheel.advance(29).isEmpty());
+        assertEquals(List.of(new TimingWheel.Expired<>("a", 30)), wheel.advance(30));
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.occupancy(0));
+    }
+
+    @Test
+    void timersOnDifferentLevelsFireInDeadlineOrder() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 0);
+        wheel.schedule("late", 50);
+        wheel.schedule("middle", 9);
+        wheel.schedule("early", 3);
+
+        assertEquals(List.of("early", "middle", "late"), keys(wheel.advance(100)));
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 0);
+        wheel.schedule("a", 20);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(0, wheel.size());
+        assertEquals(0, wheel.occupancy(2));
+        assertTrue(wheel.advance(100).isEmpty());
+    }
+
+    @Test
+    void cancellingAnOverdueTimerBeforeTheNextAdvanceDropsIt() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 100);
+        wheel.schedule("a", 50);
+
+        assertTrue(wheel.cancel("a"));
+        assertTrue(wheel.advance(101).isEmpty());
+    }
+
+    @Test
+    void reschedulingReplacesTheEarlierDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 0);
+        wheel.schedule("later", 10);
+        wheel.schedule("later", 40);
+        wheel.schedule("sooner", 40);
+        wheel.schedule("sooner", 5);
+        assertEquals(2, wheel.size());
+
+        assertEquals(List.of(new TimingWheel.Expired<>("sooner", 5)), wheel.advance(39));
+        assertEquals(List.of(new TimingWheel.Expired<>("later", 40)), wheel.advance(40));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void deadlineBeyondTheTopLevelWaitsOutWholeRevolutions() {
+        // two levels cover 16 ticks; the deadline is more than six revolutions away
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 2, 0);
+        wheel.schedule("a", 100);
+
+        for (long now = 1; now < 100; now++) {
+            assertTrue(wheel.advance(now).isEmpty(), "fired early at " + now);
+        }
+        assertEquals(1, wheel.size());
+        assertEquals(List.of(new TimingWheel.Expired<>("a", 100)), wheel.advance(100));
+    }
+
+    @Test
+    void overdueDeadlineFiresOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 2, 3, 100);
+        wheel.schedule("a", 50);
+
+        assertEquals(List.of(new TimingWheel.Expired<>("a", 50)), wheel.advance(100));
+    }
+
+    private static List<String> keys(List<TimingWheel.Expired<String>> expired) {
+        return expired.stream().map(TimingWheel.Expired::key).toList();
+    }
+}
@@ -0,0 +1,82 @@
+package com.enterprisesystemengineering.stats;
+
+import com.enterprisesystemengineering.cache.ReconciledView;
+import com.enterprisesystemengineering.task.TaskStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link StatusCounters}: moves between keys and statuses, deletes, and changes replayed after a rebuild
+ * that already saw them.
+ */
+class StatusCountersTest {
+
+    @Test
+    void settingAnEntityMovesItsCount() {
+        StatusCounters<TaskStatus> counters = new StatusCounters<>(TaskStatus.class);
+        counters.set("t1", "alice", TaskStatus.PENDING);
+        counters.set("t2", "alice", TaskStatus.PENDING);
+
+        counters.set("t1", "bob", TaskStatus.COMPLETED);
+
+        assertEquals(2, counters.total());
+        assertEquals(1L, counters.byStatus("alice").get(TaskStatus.PENDING.name()));
+        assertEquals(1L, counters.byStatus("bob").get(TaskStatus.COMPLETED.name()));
+        assertEquals(0L, counters.byStatus("alice").get(TaskStatus.COMPLETED.name()));
+    }
+
+    @Test
+    void repeatedChangeIsCountedOnceAndDeleteRemovesIt() {
+        StatusCounters<TaskStatus> counters = new StatusCounters<>(TaskStatus.class);
+        counters.set("t1", "alice", TaskStatus.PENDING);
+        counters.set("t1", "alice", TaskStatus.PENDING);
+        assertEquals(1, counters.total());
+
+        counters.set("t1", null, null);
+        counters.set("t1", null, null);
+
+        assertEquals(0, counters.total());
+        assertEquals(0L, counters.byStatus("alice").get(TaskStatus.PENDING.name()));
+    }
+
+    @Test
+    void changeSeenByTheRebuildQueryAndReplayedIsNotDoubleCounted() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReconciledView<StatusCounters<TaskStatus>> view = new ReconciledView<>("test",
+                new StatusCounters<>(TaskStatus.class), () -> {
+                    querying.countDown();
+                    await(release);
+                    // the query already sees t2, whose change is also delivered during the rebuild
+                    StatusCounters<TaskStatus> loaded = new StatusCounters<>(TaskStatus.class);
+                    loaded.set("t1", "alice", TaskStatus.PENDING);
+                    loaded.set("t2", "alice", TaskStatus.PENDING);
+                    return loaded;
+                });
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(view::rebuild);
+        assertTrue(querying.await(5, TimeUnit.SECONDS));
+        view.apply(counters -> counters.set("t2", "alice", TaskStatus.PENDING));
+        release.countDown();
+        rebuild.get(5, TimeUnit.SECONDS);
+
+        Map<String, Long> alice = view.get().byStatus("alice");
+        assertEquals(2L, alice.get(TaskStatus.PENDING.name()));
+        assertEquals(2, view.get().total());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.enterprisesystemengineering.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link TaskDependencyGraph#wouldCycle}: self-dependencies, indirect cycles and diamonds.
+ */
+class TaskDependencyGraphTest {
+
+    @Test
+    void taskCannotDependOnItself() {
+        TaskDependencyGraph graph = graph();
+
+        assertTrue(graph.wouldCycle("A", "A"));
+    }
+
+    @Test
+    void edgeClosingAnIndirectCycleIsRejected() {
+        // A waits for B, B waits for C
+        TaskDependencyGraph graph = graph("A", "B", "B", "C");
+
+        assertTrue(graph.wouldCycle("C", "A"));
+        assertTrue(graph.wouldCycle("B", "A"));
+        assertFalse(graph.wouldCycle("A", "C"));
+    }
+
+    @Test
+    void diamondIsNotACycle() {
+        // A waits for B and C, both wait for D
+        TaskDependencyGraph graph = graph("A", "B", "A", "C", "B", "D", "C", "D");
+
+        assertFalse(graph.wouldCycle("A", "D"));
+        assertFalse(graph.wouldCycle("B", "C"));
+        assertFalse(graph.wouldCycle("E", "B"));
+        assertTrue(graph.wouldCycle("D", "A"));
+        assertTrue(graph.wouldCycle("D", "B"));
+    }
+
+    @Test
+    void unrelatedTasksNeverCycle() {
+        TaskDependencyGraph graph = graph("A", "B", "C", "D");
+
+        assertFalse(graph.wouldCycle("B", "C"));
+        assertFalse(graph.wouldCycle("D", "A"));
+        assertFalse(graph.wouldCycle("X", "Y"));
+    }
+
+    /**
+     * Edges given as (task, prerequisite) pairs.
+     */
+    private static TaskDependencyGraph graph(String... pairs) {
+        List<TaskDependency> edges = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            edges.add(TaskDependency.builder()
+                    .workflowId("workflow")
+                    .taskId(pairs[i])
+                    .dependsOnId(pairs[i + 1])
+                    .build());
+        }
+        return new TaskDependencyGraph(edges);
+    }
+}
@@ -0,0 +1,126 @@
+package com.enterprisesystemengineering.task;
+
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.exception.ConflictException;
+import com.enterprisesystemengineering.workflow.Workflow;
+import com.enterprisesystemengineering.workflow.WorkflowRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Blocking and unblocking through {@link TaskService} against an in-memory database: a dependent moves to
+ * PENDING only once every prerequisite is complete, and cycles are rejected.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-dependencies;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "python.api.base-url=http://localhost:0"
+})
+class TaskDependencyPropagationTest {
+
+    @Autowired
+    private TaskService service;
+
+    @Autowired
+    private TaskRepository repository;
+
+    @Autowired
+    private WorkflowRepository workflowRepository;
+
+    private String workflowId;
+
+    @BeforeEach
+    void newWorkflow() {
+        workflowId = workflowRepository.saveAndFlush(Workflow.builder()
+                .name("dependencies")
+                .type("dependencies")
+                .status(WorkflowStatus.REVIEW)
+                .createdBy("test")
+                .build()).getId();
+    }
+
+    @Test
+    void diamondUnblocksOnlyWhenEveryPrerequisiteIsComplete() {
+        // A waits for B and C, both wait for D
+        String a = newTask("A");
+        String b = newTask("B");
+        String c = newTask("C");
+        String d = newTask("D");
+        service.addDependency(a, b);
+        service.addDependency(a, c);
+        service.addDependency(b, d);
+        service.addDependency(c, d);
+        assertStatus(TaskStatus.BLOCKED, a, b, c);
+        assertStatus(TaskStatus.PENDING, d);
+
+        service.updateStatus(d, TaskStatus.COMPLETED);
+        assertStatus(TaskStatus.PENDING, b, c);
+        assertStatus(TaskStatus.BLOCKED, a);
+
+        service.updateStatus(b, TaskStatus.COMPLETED);
+        assertStatus(TaskStatus.BLOCKED, a);
+
+        service.updateStatus(c, TaskStatus.COMPLETED);
+        assertStatus(TaskStatus.PENDING, a);
+    }
+
+    @Test
+    void reopeningAPrerequisiteBlocksItsDependentsAgain() {
+        String a = newTask("A");
+        String b = newTask("B");
+        service.addDependency(a, b);
+        service.updateStatus(b, TaskStatus.COMPLETED);
+        assertStatus(TaskStatus.PENDING, a);
+
+        service.updateStatus(b, TaskStatus.PENDING);
+
+        assertStatus(TaskStatus.BLOCKED, a);
+    }
+
+    @Test
+    void dependingOnACompletedTaskDoesNotBlock() {
+        String a = newTask("A");
+        String b = newTask("B");
+        service.updateStatus(b, TaskStatus.COMPLETED);
+
+        service.addDependency(a, b);
+
+        assertStatus(TaskStatus.PENDING, a);
+    }
+
+    @Test
+    void cyclesAreRejected() {
+        String a = newTask("A");
+        String b = newTask("B");
+        String c = newTask("C");
+        service.addDependency(a, b);
+        service.addDependency(b, c);
+
+        assertThrows(ConflictException.class, () -> service.addDependency(c, a));
+        assertThrows(ConflictException.class, () -> service.addDependency(a, a));
+        assertEquals(0, service.getDependencies(c).size());
+    }
+
+    private String newTask(String title) {
+        return service.createTask(Task.builder()
+                .title(title)
+                .assignedTo("test")
+                .workflowId(workflowId)
+                .build()).getId();
+    }
+
+    private void assertStatus(TaskStatus expected, String... ids) {
+        for (String id : ids) {
+            assertEquals(expected, repository.findById(id).orElseThrow().getStatus(), "status of task " + id);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.enterprisesystemengineering.workflow;
+
+import com.enterprisesystemengineering.enums.WorkflowStatus;
+import com.enterprisesystemengineering.exception.ConflictException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Hammers {@link WorkflowService#updateStatus} from many threads against an in-memory database and checks
+ * that every committed status change is reflected exactly once in the row's version.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:workflow-status;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=USER,VALUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "python.api.base-url=http://localhost:0",
+        "workflow.strict-transitions=true",
+        "workflow.transitions.stress.APPROVED=REVIEW",
+        "workflow.status-update.max-attempts=100",
+        "workflow.status-update.backoff-ms=1"
+})
+class WorkflowStatusConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int FLIPS_PER_THREAD = 25;
+
+    @Autowired
+    private WorkflowService service;
+
+    @Autowired
+    private WorkflowRepository repository;
+
+    @Autowired
+    private MoveCounter moves;
+
+    @Test
+    void concurrentFlipsAreNeverLost() throws Exception {
+        Workflow workflow = newWorkflow();
+        long initialVersion = workflow.getVersion();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger exhausted = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < FLIPS_PER_THREAD; i++) {
+                    WorkflowStatus current = repository.findById(workflow.getId()).orElseThrow().getStatus();
+                    WorkflowStatus target = current == WorkflowStatus.REVIEW ? WorkflowStatus.APPROVED : WorkflowStatus.REVIEW;
+                    try {
+                        service.updateStatus(workflow.getId(), target);
+                    } catch (ConflictException e) {
+                        exhausted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Workflow result = repository.findById(workflow.getId()).orElseThrow();
+        int committed = moves.count(workflow.getId());
+        assertTrue(committed > 0, "no status change went through");
+        assertTrue(exhausted.get() < THREADS * FLIPS_PER_THREAD, "every update ran out of retries");
+        assertEquals(initialVersion + committed, result.getVersion(), "version must move once per committed change");
+        assertEquals(committed % 2 == 0 ? WorkflowStatus.REVIEW : WorkflowStatus.APPROVED, result.getStatus());
+    }
+
+    @Test
+    void competingApproversCannotOverwriteEachOther() throws Exception {
+        Workflow workflow = newWorkflow();
+        long initialVersion = workflow.getVersion();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<WorkflowStatus, List<Future<Workflow>>> byDecision = new ConcurrentHashMap<>();
+        for (int t = 0; t < THREADS; t++) {
+            WorkflowStatus decision = t % 2 == 0 ? WorkflowStatus.APPROVED : WorkflowStatus.REJECTED;
+            Future<Workflow> future = pool.submit(() -> {
+                start.await();
+                return service.updateStatus(workflow.getId(), decision);
+            });
+            byDecision.computeIfAbsent(decision, d -> new ArrayList<>()).add(future);
+        }
+        start.countDown();
+
+        for (List<Future<Workflow>> futures : byDecision.values()) {
+            for (Future<Workflow> future : futures) {
+                try {
+                    future.get(1, TimeUnit.MINUTES);
+                } catch (ExecutionException e) {
+                    assertInstanceOf(ConflictException.class, e.getCause());
+                }
+            }
+        }
+        pool.shutdown();
+        Workflow result = repository.findById(workflow.getId()).orElseThrow();
+
+        WorkflowStatus winner = result.getStatus();
+        WorkflowStatus loser = winner == WorkflowStatus.APPROVED ? WorkflowStatus.REJECTED : WorkflowStatus.APPROVED;
+        assertTrue(winner == WorkflowStatus.APPROVED || winner == WorkflowStatus.REJECTED);
+        assertEquals(initialVersion + 1, result.getVersion(), "exactly one decision may be applied");
+        assertEquals(1, moves.count(workflow.getId()));
+        for (Future<Workflow> future : byDecision.get(loser)) {
+            ExecutionException failure = assertThrows(ExecutionException.class, future::get);
+            assertInstanceOf(ConflictException.class, failure.getCause());
+        }
+    }
+
+    private Workflow newWorkflow() {
+        return repository.saveAndFlush(Workflow.builder()
+                .name("stress")
+                .type("stress")
+                .status(WorkflowStatus.REVIEW)
+                .createdBy("test")
+                .build());
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        MoveCounter moveCounter() {
+            return new MoveCounter();
+        }
+    }
+
+    /**
+     * Counts committed status changes per workflow.
+     */
+    static class MoveCounter {
+
+        private final Map<String, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+        @TransactionalEventListener
+        void onChange(WorkflowChangedEvent event) {
+            if (event.before() != null && event.after() != null && event.before().status() != event.after().status()) {
+                counts.computeIfAbsent(event.id(), id -> new AtomicInteger()).incrementAndGet();
+            }
+        }
+
+        int count(String id) {
+            AtomicInteger count = counts.get(id);
+            return count == null ? 0 : count.get();
+        }
+    }
+}